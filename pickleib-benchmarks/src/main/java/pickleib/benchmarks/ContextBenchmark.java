@@ -0,0 +1,34 @@
+package pickleib.benchmarks;
+
+import context.ContextStore;
+import org.openjdk.jmh.annotations.*;
+import utils.StringUtilities;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Context placeholder resolution, as done for every element and page name Pickleib receives from steps
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextBenchmark {
+
+    @Setup
+    public void setup() {
+        ContextStore.put("benchmark-user", "Jane Doe");
+    }
+
+    @Benchmark
+    public String plainText() {
+        return StringUtilities.contextCheck("Submit button");
+    }
+
+    @Benchmark
+    public String contextPlaceholder() {
+        return StringUtilities.contextCheck("CONTEXT-benchmark-user");
+    }
+}
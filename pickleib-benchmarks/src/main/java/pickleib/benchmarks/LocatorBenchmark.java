@@ -0,0 +1,58 @@
+package pickleib.benchmarks;
+
+import collections.Pair;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.support.pagefactory.ByAll;
+import pickleib.enums.SelectorType;
+import pickleib.utilities.element.acquisition.ElementAcquisition;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locator building of {@link ElementAcquisition.PageObjectJson}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorBenchmark {
+
+    ElementAcquisition.PageObjectJson pageObjectJson;
+    JsonObject elementJson;
+    Pair<String, String> type;
+    Pair<String, String> name;
+    Pair<String, String> role;
+
+    @Setup
+    public void setup() {
+        JsonObject objectRepository = ObjectRepositoryBenchmark.generateRepository(10, 20);
+        pageObjectJson = new ElementAcquisition.PageObjectJson(null, objectRepository);
+        elementJson = ElementAcquisition.PageObjectJson.getElementJson("element5", "page5", objectRepository);
+        type = new Pair<>("type", "submit");
+        name = new Pair<>("name", "checkout");
+        role = new Pair<>("role", "button");
+    }
+
+    @Benchmark
+    public String cssByAttributes() {
+        return pageObjectJson.generateCssByAttributes(type, name, role);
+    }
+
+    @Benchmark
+    public String xPathByAttributes() {
+        return pageObjectJson.generateXPathByAttributes(type, name, role);
+    }
+
+    @Benchmark
+    public ByAll byAllFromElementJson() {
+        return pageObjectJson.getByAll(elementJson, SelectorType.xpath, SelectorType.css, SelectorType.text);
+    }
+
+    @Benchmark
+    public ByAll byAllFromIndex() {
+        return pageObjectJson.getByAll("element5", "page5", SelectorType.xpath, SelectorType.css, SelectorType.text);
+    }
+}
@@ -0,0 +1,105 @@
+package pickleib.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.support.pagefactory.ByAll;
+import pickleib.enums.SelectorType;
+import pickleib.utilities.element.acquisition.ElementAcquisition;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the indexed Json object repository lookups of {@link ElementAcquisition.PageObjectJson}
+ * against the legacy tree walk, which scans the pages and elements arrays on every lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectRepositoryBenchmark {
+
+    @Param({"10", "100"})
+    int pageCount;
+
+    @Param({"20", "100"})
+    int elementCount;
+
+    JsonObject objectRepository;
+    ElementAcquisition.PageObjectJson pageObjectJson;
+
+    @Setup
+    public void setup() {
+        objectRepository = generateRepository(pageCount, elementCount);
+        pageObjectJson = new ElementAcquisition.PageObjectJson(null, objectRepository);
+    }
+
+    @Benchmark
+    public void legacyTreeWalk(Blackhole blackhole) {
+        int page = ThreadLocalRandom.current().nextInt(pageCount);
+        int element = ThreadLocalRandom.current().nextInt(elementCount);
+        JsonObject elementJson = legacyElementJson("element" + element, "page" + page, objectRepository);
+        ByAll byAll = pageObjectJson.getByAll(elementJson, SelectorType.xpath, SelectorType.css, SelectorType.text);
+        blackhole.consume(byAll);
+    }
+
+    @Benchmark
+    public void indexedLookup(Blackhole blackhole) {
+        int page = ThreadLocalRandom.current().nextInt(pageCount);
+        int element = ThreadLocalRandom.current().nextInt(elementCount);
+        ByAll byAll = pageObjectJson.getByAll(
+                "element" + element,
+                "page" + page,
+                SelectorType.xpath, SelectorType.css, SelectorType.text
+        );
+        blackhole.consume(byAll);
+    }
+
+    /**
+     * Copy of the tree walk PageObjectJson used before the repository was indexed
+     */
+    static JsonObject legacyElementJson(String elementName, String pageName, JsonObject objectRepository) {
+        JsonArray pages = objectRepository.getAsJsonArray("pages");
+
+        JsonObject pageJson = Objects.requireNonNull(
+                pages.asList().stream().filter(
+                        page -> page.getAsJsonObject().get("name").getAsJsonPrimitive().getAsString().equals(pageName)
+                ).findAny().orElse(null)
+        ).getAsJsonObject();
+
+        JsonArray elements = pageJson.getAsJsonArray("elements");
+        for (JsonElement elementJson : elements)
+            if (elementJson.getAsJsonObject().get("elementName").getAsJsonPrimitive().getAsString().equals(elementName))
+                return elementJson.getAsJsonObject();
+
+        return null;
+    }
+
+    static JsonObject generateRepository(int pageCount, int elementCount) {
+        JsonArray pages = new JsonArray();
+        for (int pageIndex = 0; pageIndex < pageCount; pageIndex++) {
+            JsonArray elements = new JsonArray();
+            for (int elementIndex = 0; elementIndex < elementCount; elementIndex++) {
+                JsonObject element = new JsonObject();
+                element.addProperty("elementName", "element" + elementIndex);
+                element.addProperty("xpath", "//div[@id='page" + pageIndex + "']//*[@data-id='" + elementIndex + "']");
+                element.addProperty("cssSelector", "#page" + pageIndex + " [data-id='" + elementIndex + "']");
+                element.addProperty("text", "Element " + elementIndex);
+                elements.add(element);
+            }
+            JsonObject page = new JsonObject();
+            page.addProperty("name", "page" + pageIndex);
+            page.add("elements", elements);
+            pages.add(page);
+        }
+        JsonObject repository = new JsonObject();
+        repository.add("pages", pages);
+        return repository;
+    }
+}
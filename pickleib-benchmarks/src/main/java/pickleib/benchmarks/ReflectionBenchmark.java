@@ -0,0 +1,62 @@
+package pickleib.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.WebElement;
+import pickleib.benchmarks.fakes.BenchmarkRepository;
+import pickleib.utilities.element.acquisition.ElementAcquisition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reflective page and component lookups of {@link ElementAcquisition.Reflections},
+ * and list selection of {@link ElementAcquisition}, over in memory fake elements
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionBenchmark {
+
+    ElementAcquisition.Reflections<BenchmarkRepository> reflections;
+    List<WebElement> categories;
+
+    @Setup
+    public void setup() {
+        reflections = new ElementAcquisition.Reflections<>(BenchmarkRepository.class);
+        categories = reflections.getElementsFromPage("categories", "catalogPage");
+    }
+
+    @Benchmark
+    public WebElement elementFromPage() {
+        return reflections.getElementFromPage("searchButton", "catalogPage");
+    }
+
+    @Benchmark
+    public List<WebElement> elementListFromPage() {
+        return reflections.getElementsFromPage("categories", "catalogPage");
+    }
+
+    @Benchmark
+    public Map<String, Object> componentFieldsFromPage() {
+        return reflections.getComponentFieldsFromPage("featured", "catalogPage");
+    }
+
+    @Benchmark
+    public WebElement elementAmongstComponentsFromPage() {
+        return reflections.getElementAmongstComponentsFromPage("addButton", "Product 40", "productCards", "catalogPage");
+    }
+
+    @Benchmark
+    public WebElement namedElementAmongst() {
+        return ElementAcquisition.acquireNamedElementAmongst(categories, "Category 40");
+    }
+
+    @Benchmark
+    public WebElement elementUsingAttributeAmongst() {
+        return ElementAcquisition.acquireElementUsingAttributeAmongst(categories, "data-category", "category-40");
+    }
+}
@@ -0,0 +1,12 @@
+package pickleib.benchmarks.fakes;
+
+import pickleib.utilities.interfaces.repository.PageRepository;
+
+/**
+ * Page repository of the benchmark pages
+ */
+public class BenchmarkRepository implements PageRepository {
+
+    CatalogPage catalogPage;
+
+}
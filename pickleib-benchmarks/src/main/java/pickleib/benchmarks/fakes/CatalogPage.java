@@ -0,0 +1,27 @@
+package pickleib.benchmarks.fakes;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page object made of fake elements
+ */
+public class CatalogPage {
+
+    public static final int PRODUCT_COUNT = 50;
+
+    WebElement searchInput = new FakeWebElement("").withAttribute("placeholder", "Search");
+    WebElement searchButton = new FakeWebElement("Search");
+    ProductCard featured = new ProductCard(0);
+    List<WebElement> categories = new ArrayList<>();
+    List<ProductCard> productCards = new ArrayList<>();
+
+    public CatalogPage() {
+        for (int index = 0; index < PRODUCT_COUNT; index++) {
+            categories.add(new FakeWebElement("Category " + index).withAttribute("data-category", "category-" + index));
+            productCards.add(new ProductCard(index));
+        }
+    }
+}
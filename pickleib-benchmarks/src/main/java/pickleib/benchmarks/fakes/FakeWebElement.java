@@ -0,0 +1,116 @@
+package pickleib.benchmarks.fakes;
+
+import org.openqa.selenium.*;
+
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In memory WebElement with a fixed text and attributes, no driver is involved
+ */
+public class FakeWebElement implements WebElement {
+
+    /**
+     * 1x1 transparent PNG returned as the screenshot of every fake element
+     */
+    static final byte[] SCREENSHOT = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg=="
+    );
+
+    final String text;
+    final Map<String, String> attributes = new HashMap<>();
+
+    public FakeWebElement(String text) {
+        this.text = text;
+    }
+
+    public FakeWebElement withAttribute(String name, String value) {
+        attributes.put(name, value);
+        return this;
+    }
+
+    @Override
+    public void click() {}
+
+    @Override
+    public void submit() {}
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {}
+
+    @Override
+    public void clear() {}
+
+    @Override
+    public String getTagName() {
+        return "div";
+    }
+
+    @Override
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public boolean isSelected() {
+        return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String getAccessibleName() {
+        return text;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        throw new NoSuchElementException("Fake elements have no children");
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        return true;
+    }
+
+    @Override
+    public Point getLocation() {
+        return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+        return new Dimension(100, 20);
+    }
+
+    @Override
+    public Rectangle getRect() {
+        return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+        return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) throws WebDriverException {
+        return target.convertFromPngBytes(SCREENSHOT.clone());
+    }
+}
@@ -0,0 +1,24 @@
+package pickleib.benchmarks.fakes;
+
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Component made of fake elements
+ */
+public class ProductCard extends FakeWebElement {
+
+    WebElement title;
+    WebElement price;
+    WebElement addButton;
+    List<WebElement> tags;
+
+    public ProductCard(int index) {
+        super("Product " + index);
+        title = new FakeWebElement("Product " + index).withAttribute("data-id", String.valueOf(index));
+        price = new FakeWebElement(index + ".99");
+        addButton = new FakeWebElement("Add to cart");
+        tags = List.of(new FakeWebElement("new"), new FakeWebElement("sale"));
+    }
+}
@@ -0,0 +1,156 @@
+package pickleib.driver;
+
+import context.ContextStore;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of driver sessions, keyed by the current scope.
+ * The scope is the scenario key bound to the current thread (see {@link #bind(String)}), or the current
+ * (platform or virtual) thread if no scenario is bound. This allows a single JVM to drive several sessions
+ * concurrently, each scenario resolving its own driver.
+ * <p>
+ * A scope only ever resolves its own driver. Single session setups that initialize the driver on one thread and use
+ * it from others can enable the "single-driver-session" property, a scope without a driver then resolves the only
+ * registered driver through {@link #get()} (but never through {@link #remove()}).
+ * <p>
+ * Drivers are held strongly until their scope removes them, so a scenario that skips its terminate step keeps its
+ * session open. Drivers of thread scopes whose thread has terminated can be collected with {@link #removeOrphans()}.
+ *
+ * @param <Driver> driver type
+ */
+public class DriverRegistry<Driver extends RemoteWebDriver> {
+
+    /**
+     * Scenario key bound to the current thread, inherited by the threads it starts
+     */
+    private static final InheritableThreadLocal<String> scenario = new InheritableThreadLocal<>();
+
+    /**
+     * determines if scopes without a driver resolve the only registered driver (single session setups)
+     */
+    static boolean singleSession = Boolean.parseBoolean(ContextStore.get("single-driver-session", "false"));
+
+    private final Map<Object, Driver> drivers = new ConcurrentHashMap<>();
+
+    /**
+     * Binds the current thread (and threads started from it) to a scenario
+     *
+     * @param scenarioKey unique scenario key
+     */
+    public static void bind(String scenarioKey) {
+        scenario.set(scenarioKey);
+    }
+
+    /**
+     * Unbinds the current thread from its scenario
+     */
+    public static void unbind() {
+        scenario.remove();
+    }
+
+    /**
+     * Returns the scenario key bound to the current thread
+     *
+     * @return returns the scenario key, or null if the thread is not bound to a scenario
+     */
+    public static String getScenario() {
+        return scenario.get();
+    }
+
+    /**
+     * Returns the key of the current scope
+     *
+     * @return returns the bound scenario key, or the current thread
+     */
+    static Object scopeKey() {
+        String scenarioKey = scenario.get();
+        return scenarioKey != null ? scenarioKey : Thread.currentThread();
+    }
+
+    /**
+     * Registers a driver for the current scope
+     *
+     * @param driver driver session
+     * @return returns the driver previously registered for the current scope, or null
+     */
+    public Driver register(Driver driver) {
+        if (driver == null) return drivers.remove(scopeKey());
+        return drivers.put(scopeKey(), driver);
+    }
+
+    /**
+     * Returns the driver of the current scope
+     *
+     * @return returns the driver, or null if no driver could be resolved
+     */
+    public Driver get() {
+        Driver driver = drivers.get(scopeKey());
+        if (driver == null && singleSession && drivers.size() == 1) {
+            for (Driver registered : drivers.values()) return registered;
+        }
+        return driver;
+    }
+
+    /**
+     * Checks if a driver is registered for the current scope
+     *
+     * @return true if the current scope has its own driver
+     */
+    public boolean isRegistered() {
+        return drivers.containsKey(scopeKey());
+    }
+
+    /**
+     * Removes the driver of the current scope, drivers of other scopes are never removed
+     *
+     * @return returns the removed driver, or null if the current scope has no driver
+     */
+    public Driver remove() {
+        return drivers.remove(scopeKey());
+    }
+
+    /**
+     * Removes the drivers of thread scopes whose thread has terminated without removing its driver
+     *
+     * @return returns the removed drivers, their sessions are still open
+     */
+    public List<Driver> removeOrphans() {
+        List<Driver> orphans = new ArrayList<>();
+        for (Iterator<Map.Entry<Object, Driver>> iterator = drivers.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<Object, Driver> entry = iterator.next();
+            if (entry.getKey() instanceof Thread thread && !thread.isAlive()) {
+                orphans.add(entry.getValue());
+                iterator.remove();
+            }
+        }
+        return orphans;
+    }
+
+    /**
+     * Returns all registered drivers
+     *
+     * @return returns a snapshot of the registered drivers
+     */
+    public Collection<Driver> getAll() {
+        return new ArrayList<>(drivers.values());
+    }
+
+    public int size() {
+        return drivers.size();
+    }
+
+    public boolean isEmpty() {
+        return drivers.isEmpty();
+    }
+
+    public static void setSingleSession(boolean singleSession) {
+        DriverRegistry.singleSession = singleSession;
+    }
+}
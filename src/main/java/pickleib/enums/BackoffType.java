@@ -0,0 +1,23 @@
+package pickleib.enums;
+
+/**
+ * Defines the delay growth strategies used between polling attempts
+ */
+public enum BackoffType {
+    fixed,
+    exponential,
+    jittered;
+
+    /**
+     * Returns a backoff type matching a given text (Non-case-sensitive)
+     * @param text desired backoff type
+     * @return returns matching backoff type, exponential by default
+     */
+    public static BackoffType fromString(String text) {
+        if (text != null)
+            for (BackoffType backoffType : values())
+                if (backoffType.name().equalsIgnoreCase(text))
+                    return backoffType;
+        return exponential;
+    }
+}
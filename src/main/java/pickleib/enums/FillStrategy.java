@@ -0,0 +1,14 @@
+package pickleib.enums;
+
+/**
+ * How a form field is filled by the batched form filler
+ * <p>
+ * script: the value is set by a script, input and change events are dispatched
+ * keys: the field is cleared by a script, the value is typed with native key events
+ * auto: keys for fields that usually need real key events (contenteditable, date, file, combobox, masked inputs), script otherwise
+ */
+public enum FillStrategy {
+    auto,
+    script,
+    keys
+}
@@ -6,11 +6,16 @@ import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
 import pickleib.mobile.driver.PickleibAppiumDriver;
+import pickleib.mobile.profile.PerformanceProfiles;
 import pickleib.mobile.utilities.MobileUtilities;
 import pickleib.web.driver.PickleibWebDriver;
 
 import java.time.Duration;
 
+/**
+ * Base class of screen objects, elements of screen objects annotated with a
+ * {@link pickleib.mobile.profile.PerformanceProfile} are interacted with under that profile
+ */
 public abstract class PickleibScreenObject extends MobileUtilities {
     /**
      * PickleibScreenObject for frameworks that use the Pickleib driver
@@ -19,11 +24,15 @@ public abstract class PickleibScreenObject extends MobileUtilities {
     protected PickleibScreenObject(){
         super(PickleibAppiumDriver.get());
         PageFactory.initElements(
-                new AppiumFieldDecorator(
-                        PickleibAppiumDriver.get(),
-                        Duration.ofSeconds(
-                                Long.parseLong(ContextStore.get("element-timeout", "15000"))/1000
-                        )
+                PerformanceProfiles.decorate(
+                        new AppiumFieldDecorator(
+                                PickleibAppiumDriver.get(),
+                                Duration.ofSeconds(
+                                        Long.parseLong(ContextStore.get("element-timeout", "15000"))/1000
+                                )
+                        ),
+                        this,
+                        PickleibAppiumDriver.get()
                 ),
                 this
         );
@@ -36,11 +45,15 @@ public abstract class PickleibScreenObject extends MobileUtilities {
     protected PickleibScreenObject(RemoteWebDriver driver){
         super(driver);
         PageFactory.initElements(
-                new AppiumFieldDecorator(
-                        driver,
-                        Duration.ofSeconds(
-                                Long.parseLong(ContextStore.get("element-timeout", "15000"))/1000
-                        )
+                PerformanceProfiles.decorate(
+                        new AppiumFieldDecorator(
+                                driver,
+                                Duration.ofSeconds(
+                                        Long.parseLong(ContextStore.get("element-timeout", "15000"))/1000
+                                )
+                        ),
+                        this,
+                        driver
                 ),
                 this
         );
@@ -52,7 +65,7 @@ public abstract class PickleibScreenObject extends MobileUtilities {
      */
     protected <CustomFieldDecorator extends DefaultFieldDecorator> PickleibScreenObject(CustomFieldDecorator fieldDecorator){
         super(PickleibWebDriver.get());
-        PageFactory.initElements(fieldDecorator, this);
+        PageFactory.initElements(PerformanceProfiles.decorate(fieldDecorator, this, driver), this);
     }
 
     /**
@@ -64,6 +77,6 @@ public abstract class PickleibScreenObject extends MobileUtilities {
             RemoteWebDriver driver
     ){
         super(driver);
-        PageFactory.initElements(fieldDecorator, this);
+        PageFactory.initElements(PerformanceProfiles.decorate(fieldDecorator, this, driver), this);
     }
 }
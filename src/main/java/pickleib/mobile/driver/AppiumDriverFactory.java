@@ -3,6 +3,7 @@ package pickleib.mobile.driver;
 import com.google.gson.JsonObject;
 import context.ContextStore;
 import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.service.local.AppiumDriverLocalService;
 import org.json.simple.JSONObject;
 import org.openqa.selenium.remote.DesiredCapabilities;
 import pickleib.driver.DriverFactory;
@@ -14,6 +15,7 @@ import java.net.URL;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
 
 import static pickleib.mobile.driver.ServiceFactory.service;
 import static utils.StringUtilities.Color.*;
@@ -49,8 +51,33 @@ public class AppiumDriverFactory implements DriverFactory {
     }
 
     public static AppiumDriver getDriver(String deviceName, JSONObject capabilitiesJSON, boolean remote){
+        return getDriver(deviceName, capabilitiesJSON, remote, service);
+    }
+
+    /**
+     * Creates a driver session on a given local appium service
+     *
+     * @param deviceName device name
+     * @param capabilitiesJSON device capabilities
+     * @param remote creates the session on the remote mobile server if true
+     * @param localService local service the session is created on, the address and port properties are used if null
+     * @return returns the driver session
+     */
+    public static AppiumDriver getDriver(String deviceName, JSONObject capabilitiesJSON, boolean remote, AppiumDriverLocalService localService){
+        return getDriver(deviceName, getConfig(capabilitiesJSON), remote, localService);
+    }
+
+    /**
+     * Creates a driver session with given capabilities, on a given local appium service
+     *
+     * @param deviceName device name
+     * @param capabilities device capabilities, a local app path capability is resolved to an absolute path
+     * @param remote creates the session on the remote mobile server if true
+     * @param localService local service the session is created on, the address and port properties are used if null
+     * @return returns the driver session
+     */
+    public static AppiumDriver getDriver(String deviceName, DesiredCapabilities capabilities, boolean remote, AppiumDriverLocalService localService){
         AppiumDriverFactory.deviceName = deviceName;
-        DesiredCapabilities capabilities = getConfig(capabilitiesJSON);
         String urlString;
         if (remote) {
             String userName = ContextStore.get("remote-mobile-username");
@@ -63,13 +90,13 @@ public class AppiumDriverFactory implements DriverFactory {
             String port = ContextStore.get("port", "4723");
             urlString = "http://" + address + ":" + port + "/wd/hub";
 
-            if(capabilitiesJSON.get("app") != null) {
-                String appCapability = isValidFilePath(String.valueOf(capabilitiesJSON.get("app"))) ?
-                        FileUtilities.getAbsolutePath(String.valueOf(capabilitiesJSON.get("app"))) :
-                        String.valueOf(capabilitiesJSON.get("app"));
+            if(capabilities.getCapability("app") != null) {
+                String appCapability = isValidFilePath(String.valueOf(capabilities.getCapability("app"))) ?
+                        FileUtilities.getAbsolutePath(String.valueOf(capabilities.getCapability("app"))) :
+                        String.valueOf(capabilities.getCapability("app"));
                 capabilities.setCapability("app", appCapability);
             }
-            if (service != null) urlString = service.getUrl().toString();
+            if (localService != null) urlString = localService.getUrl().toString();
         }
         return getDriver(capabilities, urlString);
     }
@@ -89,10 +116,23 @@ public class AppiumDriverFactory implements DriverFactory {
         }
     }
 
+    /**
+     * Converts a capability JSON into capabilities.
+     * The "performanceProfile" section of the JSON holds the Appium settings of the session (such as
+     * waitForIdleTimeout or snapshotMaxDepth), which are passed on as "appium:settings[...]" capabilities.
+     *
+     * @param capabilities capability JSON
+     * @return returns the capabilities
+     */
     public static DesiredCapabilities getConfig(JSONObject capabilities) {
         log.info("Setting capabilities...");
         DesiredCapabilities desiredCapabilities = new DesiredCapabilities();
-        for (Object key : capabilities.keySet()) desiredCapabilities.setCapability((String) key, capabilities.get(key));
+        for (Object key : capabilities.keySet()) {
+            if (key.equals("performanceProfile") && capabilities.get(key) instanceof Map<?, ?> settings)
+                for (Object setting : settings.keySet())
+                    desiredCapabilities.setCapability("appium:settings[" + setting + "]", settings.get(setting));
+            else desiredCapabilities.setCapability((String) key, capabilities.get(key));
+        }
         return desiredCapabilities;
     }
 }
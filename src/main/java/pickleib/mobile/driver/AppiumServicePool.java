@@ -0,0 +1,241 @@
+package pickleib.mobile.driver;
+
+import context.ContextStore;
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import pickleib.exceptions.PickleibException;
+import utils.Printer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Pool of local appium services.
+ * Services are started on ports reserved through the {@link PortAllocator}, kept running across scenarios and leased
+ * to device sessions. A leased service is health checked first and restarted on the same port if it crashed.
+ * Services are stopped when the pool is shut down (at the latest, when the JVM exits).
+ */
+@SuppressWarnings("unused")
+public class AppiumServicePool {
+
+    static Printer log = new Printer(AppiumServicePool.class);
+
+    /**
+     * determines if {@link PickleibAppiumDriver} leases its services from the pool
+     */
+    static boolean enabled = Boolean.parseBoolean(ContextStore.get("appium-service-pool", "false"));
+
+    /**
+     * determines the maximum number of appium services run by the pool
+     */
+    static int poolSize = Integer.parseInt(ContextStore.get("appium-service-pool-size", "1"));
+
+    /**
+     * determines the number of device sessions a single service is leased to at the same time
+     */
+    static int sessionsPerService = Integer.parseInt(ContextStore.get("appium-service-sessions", "1"));
+
+    /**
+     * determines how long a lease waits for a service to become available, in milliseconds
+     */
+    static long leaseTimeout = Long.parseLong(ContextStore.get("appium-service-lease-timeout", "120000"));
+
+    private static volatile AppiumServicePool defaultPool;
+
+    private final List<PooledService> services = new ArrayList<>();
+    private final PortAllocator portAllocator;
+    private final String address;
+    private final int basePort;
+
+    private final LongAdder starts = new LongAdder();
+    private final LongAdder restarts = new LongAdder();
+    private final LongAdder leases = new LongAdder();
+
+    private boolean closed;
+
+    /**
+     * Creates a pool serving on the "address" property, starting from the "port" property
+     */
+    public AppiumServicePool() {
+        this(
+                ContextStore.get("address", "0.0.0.0"),
+                Integer.parseInt(ContextStore.get("port", "4723")),
+                PortAllocator.getDefaultAllocator()
+        );
+    }
+
+    public AppiumServicePool(String address, int basePort, PortAllocator portAllocator) {
+        this.address = address;
+        this.basePort = basePort;
+        this.portAllocator = portAllocator;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "pickleib-appium-service-pool-shutdown"));
+    }
+
+    /**
+     * Returns the pool used by {@link PickleibAppiumDriver}
+     */
+    public static AppiumServicePool getDefaultPool() {
+        if (defaultPool == null)
+            synchronized (AppiumServicePool.class) {
+                if (defaultPool == null) defaultPool = new AppiumServicePool();
+            }
+        return defaultPool;
+    }
+
+    /**
+     * Leases a running service, starting one if every service is busy and the pool is not full.
+     * If the pool is full, waits for a service to be released.
+     *
+     * @return returns the leased service
+     */
+    public AppiumDriverLocalService lease() {
+        PooledService candidate;
+        long deadline = System.currentTimeMillis() + leaseTimeout;
+        synchronized (this) {
+            while (true) {
+                if (closed) throw new PickleibException("Appium service pool is shut down!");
+                candidate = services.stream()
+                        .filter(service -> service.sessions < sessionsPerService)
+                        .min(Comparator.comparingInt(service -> service.sessions))
+                        .orElse(null);
+                if (candidate == null && services.size() < poolSize) {
+                    candidate = new PooledService(portAllocator.reserve(basePort));
+                    services.add(candidate);
+                }
+                if (candidate != null) {
+                    candidate.sessions++;
+                    break;
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                    throw new PickleibException("No appium service could be leased in " + leaseTimeout + "ms!");
+                try {wait(remaining);}
+                catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new PickleibException(exception);
+                }
+            }
+        }
+        try {
+            AppiumDriverLocalService service = candidate.ensureRunning();
+            leases.increment();
+            return service;
+        }
+        catch (RuntimeException exception) {
+            release(candidate);
+            throw exception;
+        }
+    }
+
+    /**
+     * Returns a leased service to the pool, the service keeps running
+     *
+     * @param service leased service
+     */
+    public void release(AppiumDriverLocalService service) {
+        int port = service.getUrl().getPort();
+        PooledService pooledService;
+        synchronized (this) {
+            pooledService = services.stream().filter(candidate -> candidate.port == port).findFirst().orElse(null);
+        }
+        if (pooledService != null) release(pooledService);
+    }
+
+    private synchronized void release(PooledService service) {
+        if (service.sessions > 0) service.sessions--;
+        notifyAll();
+    }
+
+    /**
+     * Stops all services and releases their ports
+     */
+    public void shutdown() {
+        List<PooledService> stopped;
+        synchronized (this) {
+            closed = true;
+            stopped = new ArrayList<>(services);
+            services.clear();
+            notifyAll();
+        }
+        for (PooledService service : stopped) service.stop();
+    }
+
+    public long getStarts() {
+        return starts.sum();
+    }
+
+    /**
+     * Number of services restarted because they failed the health check
+     */
+    public long getRestarts() {
+        return restarts.sum();
+    }
+
+    public long getLeases() {
+        return leases.sum();
+    }
+
+    public synchronized int getServiceCount() {
+        return services.size();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        AppiumServicePool.enabled = enabled;
+    }
+
+    public static void setPoolSize(int poolSize) {
+        AppiumServicePool.poolSize = poolSize;
+    }
+
+    public static void setSessionsPerService(int sessionsPerService) {
+        AppiumServicePool.sessionsPerService = sessionsPerService;
+    }
+
+    public static void setLeaseTimeout(long leaseTimeout) {
+        AppiumServicePool.leaseTimeout = leaseTimeout;
+    }
+
+    class PooledService {
+        final int port;
+        AppiumDriverLocalService service;
+        int sessions;
+
+        PooledService(int port) {
+            this.port = port;
+        }
+
+        /**
+         * Starts the service, or restarts it on the same port if it is not responding
+         *
+         * @return returns the running service
+         */
+        synchronized AppiumDriverLocalService ensureRunning() {
+            if (service != null && service.isRunning()) return service;
+            if (service != null) {
+                log.warning("Appium service on port " + port + " is not responding, restarting...");
+                restarts.increment();
+                try {service.stop();}
+                catch (RuntimeException ignored) {}
+            }
+            service = ServiceFactory.buildService(address, port);
+            service.start();
+            starts.increment();
+            log.info("Appium service " + highlighted(PURPLE, service.getUrl().toString()) + highlighted(GRAY, " joined the pool"));
+            return service;
+        }
+
+        synchronized void stop() {
+            try {if (service != null) service.stop();}
+            catch (RuntimeException exception) {log.warning("Could not stop the appium service on port " + port);}
+            finally {portAllocator.release(port);}
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package pickleib.mobile.driver;
+
+import context.ContextStore;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.WebDriverException;
+import pickleib.exceptions.PickleibException;
+import pickleib.mobile.profile.PerformanceProfiles;
+import utils.Printer;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Keeps appium sessions alive across scenarios.
+ * Released sessions are reset to a known app state (app restart, deep link or cleared app data) instead of being
+ * quit, and handed out to the next scenario that requests the same device (capability template) after a health check. Sessions are quit (and recreated on demand) if
+ * they fail the health check or the reset, after serving a given number of scenarios, or if another scenario is
+ * waiting for a device of the device farm.
+ */
+@SuppressWarnings("unused")
+public class AppiumSessionPool {
+
+    static Printer log = new Printer(AppiumSessionPool.class);
+
+    /**
+     * determines if {@link PickleibAppiumDriver} keeps its sessions alive across scenarios
+     */
+    static boolean enabled = Boolean.parseBoolean(ContextStore.get("appium-session-reuse", "false"));
+
+    /**
+     * determines how a session is reset between scenarios, restart, deepLink, clearData or none
+     */
+    static ResetStrategy resetStrategy = ResetStrategy.valueOf(ContextStore.get("appium-session-reset", "restart"));
+
+    /**
+     * determines the deep link the app is opened with by the deepLink reset strategy
+     */
+    static String deepLink = ContextStore.get("appium-session-deep-link");
+
+    /**
+     * determines the number of scenarios a session serves before it is recycled, 0 for no limit
+     */
+    static int recycleAfter = Integer.parseInt(ContextStore.get("appium-session-recycle-after", "0"));
+
+    public enum ResetStrategy {
+        /**
+         * Terminates and activates the app
+         */
+        restart,
+        /**
+         * Terminates the app and opens the deep link
+         */
+        deepLink,
+        /**
+         * Clears the app data and activates the app (Android only, iOS sessions are restarted instead)
+         */
+        clearData,
+        /**
+         * Leaves the app as it is
+         */
+        none
+    }
+
+    private final BlockingDeque<PooledSession> idleSessions = new LinkedBlockingDeque<>();
+    private final Map<AppiumDriver, PooledSession> leasedSessions = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Consumer<AppiumDriver> closer;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder recycles = new LongAdder();
+
+    private volatile boolean closed;
+
+    /**
+     * @param closer quits sessions that are not reused, and releases the resources leased to them
+     */
+    public AppiumSessionPool(Consumer<AppiumDriver> closer) {
+        this.closer = closer;
+    }
+
+    /**
+     * Hands out a healthy idle session of any device (device farm leases)
+     *
+     * @return returns the session, or null if no idle session could be reused
+     */
+    public AppiumDriver acquire() {
+        return acquire(null);
+    }
+
+    /**
+     * Hands out a healthy idle session created for a given device, sessions of other devices stay idle
+     *
+     * @param device device (capability JSON) name, or null for a session of any device
+     * @return returns the session, or null if no idle session could be reused
+     */
+    public AppiumDriver acquire(String device) {
+        PooledSession session;
+        while ((session = pollIdle(device)) != null) {
+            if (!session.isHealthy()) {
+                log.warning("Idle appium session failed the health check, quitting...");
+                evict(session);
+                continue;
+            }
+            hits.increment();
+            session.uses++;
+            leasedSessions.put(session.driver, session);
+            log.info("Reusing an appium session" + highlighted(GRAY, " (scenario " + session.uses + " of the session)"));
+            return session.driver;
+        }
+        misses.increment();
+        return null;
+    }
+
+    private PooledSession pollIdle(String device) {
+        for (PooledSession session : idleSessions)
+            if ((device == null || device.equals(session.device)) && idleSessions.remove(session)) return session;
+        return null;
+    }
+
+    /**
+     * Starts tracking a newly created session, so that it is kept alive when it is released
+     *
+     * @param driver new session
+     * @param device device (capability JSON) name the session was created for
+     */
+    public void track(AppiumDriver driver, String device) {
+        PooledSession session = new PooledSession(driver, device);
+        session.uses++;
+        leasedSessions.put(driver, session);
+    }
+
+    /**
+     * Returns a session to the pool. The session is reset and kept alive, or quit if it cannot be reused.
+     *
+     * @param driver session acquired from (or tracked by) this pool
+     */
+    public void release(AppiumDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            closer.accept(driver);
+            return;
+        }
+        if (recycleAfter > 0 && session.uses >= recycleAfter) {
+            log.info("Recycling the appium session after " + highlighted(PURPLE, String.valueOf(session.uses)) + " scenarios");
+            recycles.increment();
+            closer.accept(driver);
+            return;
+        }
+        PerformanceProfiles.revert(driver);
+        if (closed || isDeviceAwaited() || !session.reset()) {
+            evict(session);
+            return;
+        }
+        idleSessions.offer(session);
+    }
+
+    /**
+     * Quits all idle sessions, leased sessions are quit when released
+     */
+    public void shutdown() {
+        closed = true;
+        PooledSession session;
+        while ((session = idleSessions.poll()) != null) evict(session);
+    }
+
+    private void evict(PooledSession session) {
+        evictions.increment();
+        try {closer.accept(session.driver);}
+        catch (RuntimeException exception) {log.warning("Could not quit the appium session: " + exception.getMessage());}
+    }
+
+    /**
+     * Idle sessions keep their devices leased, so sessions are not kept alive while scenarios wait for a device
+     */
+    private static boolean isDeviceAwaited() {
+        return DeviceAllocator.isEnabled() && DeviceAllocator.getDefaultAllocator().hasWaiters();
+    }
+
+    /**
+     * Number of sessions handed out from the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of times no idle session could be reused
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of sessions quit because they were unhealthy, could not be reset or a device was awaited
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Number of sessions quit after serving the maximum number of scenarios
+     */
+    public long getRecycles() {
+        return recycles.sum();
+    }
+
+    public int getIdleCount() {
+        return idleSessions.size();
+    }
+
+    public int getLeasedCount() {
+        return leasedSessions.size();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        AppiumSessionPool.enabled = enabled;
+    }
+
+    public static void setResetStrategy(ResetStrategy resetStrategy) {
+        AppiumSessionPool.resetStrategy = resetStrategy;
+    }
+
+    public static void setDeepLink(String deepLink) {
+        AppiumSessionPool.deepLink = deepLink;
+    }
+
+    public static void setRecycleAfter(int recycleAfter) {
+        AppiumSessionPool.recycleAfter = recycleAfter;
+    }
+
+    static class PooledSession {
+        final AppiumDriver driver;
+        final String device;
+        int uses;
+
+        PooledSession(AppiumDriver driver, String device) {
+            this.driver = driver;
+            this.device = device;
+        }
+
+        boolean isHealthy() {
+            try {
+                if (driver.getSessionId() == null) return false;
+                driver.manage().window().getSize();
+                return true;
+            }
+            catch (WebDriverException exception) {return false;}
+        }
+
+        /**
+         * Resets the app under test with the configured reset strategy
+         *
+         * @return true if the session was reset
+         */
+        boolean reset() {
+            if (resetStrategy == ResetStrategy.none) return true;
+            try {
+                Capabilities capabilities = driver.getCapabilities();
+                boolean ios = capabilities.getPlatformName() != null && capabilities.getPlatformName().is(Platform.IOS);
+                String appKey = ios ? "bundleId" : "appId";
+                String appId = capability(capabilities, ios ? "bundleId" : "appPackage");
+                if (appId == null) throw new PickleibException("The app under test could not be resolved from the session capabilities!");
+
+                driver.executeScript("mobile: terminateApp", Map.of(appKey, appId));
+                switch (resetStrategy) {
+                    case deepLink -> {
+                        if (deepLink == null) throw new PickleibException("No deep link was configured for the deepLink reset strategy!");
+                        driver.executeScript("mobile: deepLink", Map.of("url", deepLink, ios ? "bundleId" : "package", appId));
+                    }
+                    case clearData -> {
+                        if (!ios) driver.executeScript("mobile: clearApp", Map.of(appKey, appId));
+                        driver.executeScript("mobile: activateApp", Map.of(appKey, appId));
+                    }
+                    default -> driver.executeScript("mobile: activateApp", Map.of(appKey, appId));
+                }
+                return true;
+            }
+            catch (WebDriverException | PickleibException exception) {
+                log.warning("Could not reset the appium session (" + exception.getMessage() + ")");
+                return false;
+            }
+        }
+
+        private static String capability(Capabilities capabilities, String name) {
+            Object value = capabilities.getCapability("appium:" + name);
+            if (value == null) value = capabilities.getCapability(name);
+            return value == null ? null : value.toString();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package pickleib.mobile.driver;
+
+import context.ContextStore;
+import org.json.simple.JSONObject;
+import org.openqa.selenium.remote.DesiredCapabilities;
+import pickleib.exceptions.PickleibException;
+import utils.FileUtilities;
+import utils.Printer;
+
+import java.util.*;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Leases the devices of a device farm to scenarios.
+ * Device capability JSONs are parsed once into capability templates. Leases are granted in request order (fair queue),
+ * so parallel scenarios are spread over all configured devices, and every device is assigned its own systemPort
+ * (Android) or wdaLocalPort (iOS) to keep parallel sessions from colliding on the host.
+ */
+@SuppressWarnings("unused")
+public class DeviceAllocator {
+
+    static Printer log = new Printer(DeviceAllocator.class);
+
+    /**
+     * determines the comma separated device (capability JSON) names of the device farm
+     */
+    static String devices = ContextStore.get("devices");
+
+    /**
+     * determines how long a lease waits for a free device, in milliseconds
+     */
+    static long leaseTimeout = Long.parseLong(ContextStore.get("device-lease-timeout", "300000"));
+
+    /**
+     * determines the first systemPort assigned to Android devices
+     */
+    static int systemPortBase = Integer.parseInt(ContextStore.get("system-port-base", "8200"));
+
+    /**
+     * determines the first wdaLocalPort assigned to iOS devices
+     */
+    static int wdaLocalPortBase = Integer.parseInt(ContextStore.get("wda-local-port-base", "8100"));
+
+    private static final Map<String, DesiredCapabilities> templates = new ConcurrentHashMap<>();
+    private static volatile DeviceAllocator defaultAllocator;
+
+    private final Map<String, Device> farm = new LinkedHashMap<>();
+    private final BlockingDeque<Device> idleDevices = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final long createdAt = System.currentTimeMillis();
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder waitTime = new LongAdder();
+
+    /**
+     * Creates an allocator over the devices listed by the "devices" property
+     */
+    public DeviceAllocator() {
+        this(deviceNames());
+    }
+
+    public DeviceAllocator(List<String> deviceNames) {
+        if (deviceNames.isEmpty()) throw new PickleibException("No devices were configured for the device allocator!");
+        PortAllocator portAllocator = PortAllocator.getDefaultAllocator();
+        for (String deviceName : deviceNames) {
+            DesiredCapabilities capabilities = new DesiredCapabilities(getTemplate(deviceName));
+            String platform = String.valueOf(capabilities.getCapability("platformName"));
+            if (platform.equalsIgnoreCase("android") && !hasCapability(capabilities, "systemPort"))
+                capabilities.setCapability("appium:systemPort", portAllocator.reserve(systemPortBase));
+            if (platform.equalsIgnoreCase("ios") && !hasCapability(capabilities, "wdaLocalPort"))
+                capabilities.setCapability("appium:wdaLocalPort", portAllocator.reserve(wdaLocalPortBase));
+            Device device = new Device(deviceName, capabilities);
+            farm.put(deviceName, device);
+            idleDevices.offer(device);
+        }
+        permits = new Semaphore(farm.size(), true);
+    }
+
+    /**
+     * Returns the allocator used by {@link PickleibAppiumDriver}
+     */
+    public static DeviceAllocator getDefaultAllocator() {
+        if (defaultAllocator == null)
+            synchronized (DeviceAllocator.class) {
+                if (defaultAllocator == null) defaultAllocator = new DeviceAllocator();
+            }
+        return defaultAllocator;
+    }
+
+    /**
+     * Returns true if a device farm is configured through the "devices" property
+     */
+    public static boolean isEnabled() {
+        return devices != null && !devices.isBlank();
+    }
+
+    /**
+     * Returns the capability template of a device, the capability JSON is parsed once per JVM
+     *
+     * @param deviceName device (capability JSON) name
+     * @return returns a copy of the capability template
+     */
+    public static DesiredCapabilities getCapabilities(String deviceName) {
+        return new DesiredCapabilities(getTemplate(deviceName));
+    }
+
+    private static DesiredCapabilities getTemplate(String deviceName) {
+        return templates.computeIfAbsent(deviceName, name -> {
+            String directory = ContextStore.get("config", "src/test/resources/configurations");
+            JSONObject json = FileUtilities.Json.parseJSONFile(directory + "/" + name + ".json");
+            return AppiumDriverFactory.getConfig(json);
+        });
+    }
+
+    /**
+     * Leases the device that has been idle the longest, waiting in line if all devices are leased
+     *
+     * @return returns the device lease
+     */
+    public DeviceLease lease() {
+        long requestedAt = System.currentTimeMillis();
+        try {
+            if (!permits.tryAcquire(leaseTimeout, TimeUnit.MILLISECONDS))
+                throw new PickleibException("No device could be leased in " + leaseTimeout + "ms!");
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new PickleibException(exception);
+        }
+        Device device = idleDevices.poll();
+        if (device == null) {
+            permits.release();
+            throw new PickleibException("Device allocator is out of sync, no idle device was found!");
+        }
+        long now = System.currentTimeMillis();
+        waitTime.add(now - requestedAt);
+        leases.increment();
+        device.leases.increment();
+        device.leasedAt = now;
+        log.info("Leased " + highlighted(PURPLE, device.name) + highlighted(GRAY, " after " + (now - requestedAt) + "ms"));
+        return new DeviceLease(device);
+    }
+
+    /**
+     * Returns a leased device to the farm
+     *
+     * @param lease device lease
+     */
+    public void release(DeviceLease lease) {
+        if (!lease.released.compareAndSet(false, true)) return;
+        Device device = lease.device;
+        device.busyTime.add(System.currentTimeMillis() - device.leasedAt);
+        device.leasedAt = 0;
+        idleDevices.offer(device);
+        permits.release();
+    }
+
+    /**
+     * Returns the share of the farm capacity that was leased since the allocator was created
+     *
+     * @return returns total busy time / (device count * allocator age), between 0 and 1
+     */
+    public double getUtilisation() {
+        long age = Math.max(1, System.currentTimeMillis() - createdAt);
+        long busy = 0;
+        for (Device device : farm.values()) busy += device.getBusyTime();
+        return Math.min(1, (double) busy / (farm.size() * age));
+    }
+
+    /**
+     * Logs the lease count, busy time and utilisation of every device
+     */
+    public void report() {
+        long age = Math.max(1, System.currentTimeMillis() - createdAt);
+        for (Device device : farm.values())
+            log.info(highlighted(PURPLE, device.name) + highlighted(GRAY,
+                    " -> leases: " + device.leases.sum() +
+                    ", busy: " + device.getBusyTime() + "ms" +
+                    ", utilisation: " + String.format("%.1f%%", 100.0 * device.getBusyTime() / age)
+            ));
+        log.info(highlighted(GRAY, "Device farm utilisation: " + String.format("%.1f%%", 100 * getUtilisation()) +
+                ", average wait: " + (leases.sum() == 0 ? 0 : waitTime.sum() / leases.sum()) + "ms"));
+    }
+
+    /**
+     * Returns true if a scenario is waiting for a device
+     */
+    public boolean hasWaiters() {
+        return permits.hasQueuedThreads();
+    }
+
+    public int getDeviceCount() {
+        return farm.size();
+    }
+
+    public int getIdleCount() {
+        return idleDevices.size();
+    }
+
+    public long getLeases() {
+        return leases.sum();
+    }
+
+    /**
+     * Total time spent waiting for devices, in milliseconds
+     */
+    public long getWaitTime() {
+        return waitTime.sum();
+    }
+
+    public static void setDevices(String devices) {
+        DeviceAllocator.devices = devices;
+    }
+
+    public static void setLeaseTimeout(long leaseTimeout) {
+        DeviceAllocator.leaseTimeout = leaseTimeout;
+    }
+
+    private static List<String> deviceNames() {
+        List<String> names = new ArrayList<>();
+        if (devices != null)
+            for (String name : devices.split(","))
+                if (!name.isBlank()) names.add(name.trim());
+        return names;
+    }
+
+    private static boolean hasCapability(DesiredCapabilities capabilities, String name) {
+        return capabilities.getCapability(name) != null || capabilities.getCapability("appium:" + name) != null;
+    }
+
+    static class Device {
+        final String name;
+        final DesiredCapabilities capabilities;
+        final LongAdder leases = new LongAdder();
+        final LongAdder busyTime = new LongAdder();
+        volatile long leasedAt;
+
+        Device(String name, DesiredCapabilities capabilities) {
+            this.name = name;
+            this.capabilities = capabilities;
+        }
+
+        /**
+         * Returns the busy time of the device, including the ongoing lease
+         */
+        long getBusyTime() {
+            long leased = leasedAt;
+            return busyTime.sum() + (leased == 0 ? 0 : System.currentTimeMillis() - leased);
+        }
+    }
+
+    /**
+     * A device leased to a scenario
+     */
+    public static class DeviceLease {
+        final Device device;
+        final AtomicBoolean released = new AtomicBoolean();
+
+        DeviceLease(Device device) {
+            this.device = device;
+        }
+
+        public String getDeviceName() {
+            return device.name;
+        }
+
+        /**
+         * Returns a copy of the device capabilities, including the assigned ports
+         */
+        public DesiredCapabilities getCapabilities() {
+            return new DesiredCapabilities(device.capabilities);
+        }
+    }
+}
@@ -3,16 +3,21 @@ package pickleib.mobile.driver;
 import context.ContextStore;
 import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.AppiumFluentWait;
-import org.json.simple.JSONObject;
+import io.appium.java_client.service.local.AppiumDriverLocalService;
+import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import pickleib.driver.DriverRegistry;
+import pickleib.mobile.profile.PerformanceProfiles;
 import pickleib.utilities.PropertyLoader;
 import pickleib.utilities.screenshot.ScreenCaptureUtility;
 import properties.PropertiesReader;
 import utils.*;
-import java.io.IOException;
-import java.net.ServerSocket;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 @SuppressWarnings("unused")
 public abstract class PickleibAppiumDriver {
@@ -21,11 +26,34 @@ public abstract class PickleibAppiumDriver {
 
 	static {PropertyLoader.load();}
 
-	private static AppiumDriver driver;
+	/**
+	 * AppiumDriver instances, one per thread or scenario
+	 */
+	private static final DriverRegistry<AppiumDriver> drivers = new DriverRegistry<>();
+
+	/**
+	 * Pooled appium services, keyed by the driver sessions they are leased to
+	 */
+	private static final Map<AppiumDriver, AppiumDriverLocalService> leasedServices = Collections.synchronizedMap(new IdentityHashMap<>());
+
+	/**
+	 * Devices of the device farm, keyed by the driver sessions they are leased to
+	 */
+	private static final Map<AppiumDriver, DeviceAllocator.DeviceLease> leasedDevices = Collections.synchronizedMap(new IdentityHashMap<>());
+	private static volatile AppiumSessionPool sessionPool;
 	private static AppiumFluentWait<RemoteWebDriver> wait;
 
+	/**
+	 * Returns the driver of the current thread or scenario
+	 *
+	 * @return returns the driver session
+	 */
 	public static AppiumDriver get(){
-		return driver;
+		return drivers.get();
+	}
+
+	public static DriverRegistry<AppiumDriver> getRegistry(){
+		return drivers;
 	}
 	private static final PropertiesReader reader = new PropertiesReader("properties-from-pom.properties");
 	private static final Printer log = new Printer(PickleibAppiumDriver.class);
@@ -36,49 +64,139 @@ public abstract class PickleibAppiumDriver {
 		String address = ContextStore.get("address");
 		int port = Integer.parseInt(ContextStore.get("port"));
 
-		if (!new SystemUtilities().portIsAvailable(port)){
-			try (ServerSocket socket = new ServerSocket(0)) {
-				port = socket.getLocalPort();
-			}
-			catch (IOException e) {throw new RuntimeException(e);}
-		}
+		if (AppiumServicePool.isEnabled()) return;	// Services are started by the pool, on demand
 
+		port = PortAllocator.getDefaultAllocator().reserve(port);
 		ServiceFactory.startService(address, port);	// Start Appium
 	}
 
+	/**
+	 * Returns the pool that keeps sessions alive across scenarios, idle sessions are quit when the JVM exits
+	 */
+	public static AppiumSessionPool getSessionPool(){
+		if (sessionPool == null)
+			synchronized (PickleibAppiumDriver.class) {
+				if (sessionPool == null) {
+					sessionPool = new AppiumSessionPool(PickleibAppiumDriver::quit);
+					Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+						sessionPool.shutdown();
+						stopIdleService();
+					}, "pickleib-appium-session-pool-shutdown"));
+				}
+			}
+		return sessionPool;
+	}
+
+	/**
+	 * Initializes the driver of the current thread or scenario.
+	 * An idle session is reused if the "appium-session-reuse" property is enabled, see {@link AppiumSessionPool}.
+	 */
 	public static void initialize() {
+		for (AppiumDriver orphan : drivers.removeOrphans()) {
+			log.warning("Releasing the driver of a finished thread that was not terminated");
+			try {release(orphan);}
+			catch (RuntimeException exception) {log.warning("Could not release the orphaned driver: " + exception.getMessage());}
+		}
+		String configuredDevice = reader.getProperty("device");
+		if (configuredDevice == null) configuredDevice = ContextStore.get("device");
+		if (AppiumSessionPool.isEnabled()) {
+			AppiumDriver driver = getSessionPool().acquire(DeviceAllocator.isEnabled() ? null : configuredDevice);
+			if (driver != null) {
+				drivers.register(driver);
+				return;
+			}
+		}
 		log.info("Initializing appium driver");
-		String device = reader.getProperty("device");
-		if (device==null) device = ContextStore.get("device");
-
-		String directory = ContextStore.get("config", "src/test/resources/configurations");
+		boolean remote = Boolean.parseBoolean(ContextStore.get("use-remote-mobile-driver", "false"));
+		boolean pooledService = !remote && AppiumServicePool.isEnabled();
+		DeviceAllocator.DeviceLease deviceLease = null;
+		AppiumDriverLocalService service = null;
+		try {
+			String device;
+			DesiredCapabilities capabilities;
+			if (DeviceAllocator.isEnabled()) {
+				deviceLease = DeviceAllocator.getDefaultAllocator().lease();
+				device = deviceLease.getDeviceName();
+				capabilities = deviceLease.getCapabilities();
+			}
+			else {
+				device = configuredDevice;
+				capabilities = DeviceAllocator.getCapabilities(device);
+			}
+			if (pooledService) service = AppiumServicePool.getDefaultPool().lease();
+			else if (!remote) service = ServiceFactory.service;
 
-		JSONObject json = FileUtilities.Json.parseJSONFile(directory+"/"+device+".json");
-		driver = AppiumDriverFactory.getDriver(
-				StringUtilities.firstLetterCapped(device),
-				json,
-				Boolean.parseBoolean(ContextStore.get("use-remote-mobile-driver", "false"))
-		);
+			AppiumDriver driver = AppiumDriverFactory.getDriver(StringUtilities.firstLetterCapped(device), capabilities, remote, service);
+			if (deviceLease != null) leasedDevices.put(driver, deviceLease);
+			if (pooledService) leasedServices.put(driver, service);
+			if (AppiumSessionPool.isEnabled()) getSessionPool().track(driver, device);
+			drivers.register(driver);
+		}
+		catch (RuntimeException exception) {
+			if (deviceLease != null) DeviceAllocator.getDefaultAllocator().release(deviceLease);
+			if (pooledService && service != null) AppiumServicePool.getDefaultPool().release(service);
+			throw exception;
+		}
 	}
 
 	public static void terminate(){
 		log.info("Finalizing driver...");
-		try {driver.quit();}
-		catch (Exception exception){exception.printStackTrace();}
-		finally {
-			if (ServiceFactory.service != null) ServiceFactory.service.stop(); //TODO: Verify socket & log success
+		try {
+			AppiumDriver driver = drivers.remove();
+			if (driver != null) release(driver);
 		}
+		catch (Exception exception){exception.printStackTrace();}
+		finally {stopIdleService();}
 	}
 
 	public static void captureAndTerminate(boolean success, String screenshotTag){
 		log.info("Finalizing driver...");
 		try {
-			capture.captureScreen(screenshotTag, "png", driver);
-			driver.quit();
+			AppiumDriver driver = drivers.remove();
+			if (driver != null) {
+				try {capture.captureScreen(screenshotTag, "png", driver);}
+				finally {release(driver);}
+			}
 		}
 		catch (Exception exception){exception.printStackTrace();}
-		finally {
-			if (ServiceFactory.service != null) ServiceFactory.service.stop(); //TODO: Verify socket & log success
+		finally {stopIdleService();}
+	}
+
+	/**
+	 * Returns a driver session to the session pool if sessions are reused, quits it otherwise
+	 */
+	private static void release(AppiumDriver driver){
+		PerformanceProfiles.revert(driver);
+		if (sessionPool != null) sessionPool.release(driver);
+		else quit(driver);
+	}
+
+	/**
+	 * Quits a driver session and releases the service and the device leased to it
+	 */
+	private static void quit(AppiumDriver driver){
+		try {driver.quit();}
+		finally {releaseService(driver);}
+	}
+
+	/**
+	 * Returns the pooled service and the device leased by a given driver session, pooled services keep running
+	 */
+	private static void releaseService(AppiumDriver driver){
+		AppiumDriverLocalService service = leasedServices.remove(driver);
+		if (service != null) AppiumServicePool.getDefaultPool().release(service);
+		DeviceAllocator.DeviceLease deviceLease = leasedDevices.remove(driver);
+		if (deviceLease != null) DeviceAllocator.getDefaultAllocator().release(deviceLease);
+	}
+
+	/**
+	 * Stops the appium service once no driver sessions are left, idle sessions of the session pool included
+	 */
+	private static void stopIdleService(){
+		boolean idleSessions = sessionPool != null && sessionPool.getIdleCount() > 0;
+		if (drivers.isEmpty() && !idleSessions && ServiceFactory.service != null) {
+			ServiceFactory.service.stop(); //TODO: Verify socket & log success
+			PortAllocator.getDefaultAllocator().release(ServiceFactory.port);
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package pickleib.mobile.driver;
+
+import pickleib.exceptions.PickleibException;
+import utils.SystemUtilities;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reserves ports for local appium services.
+ * A port is handed out only if it is free and not already reserved within this JVM, so services started in parallel
+ * never race for the same port. Reserved ports are returned with {@link #release(int)} once the service stops.
+ */
+@SuppressWarnings("unused")
+public class PortAllocator {
+
+    private static final PortAllocator defaultAllocator = new PortAllocator(1000);
+
+    private final Set<Integer> reserved = new HashSet<>();
+    private final SystemUtilities systemUtilities = new SystemUtilities();
+    private final int searchRange;
+
+    /**
+     * @param searchRange number of ports checked, starting from the preferred port
+     */
+    public PortAllocator(int searchRange) {
+        this.searchRange = searchRange;
+    }
+
+    /**
+     * Returns the allocator shared by the appium services of this JVM
+     */
+    public static PortAllocator getDefaultAllocator() {
+        return defaultAllocator;
+    }
+
+    /**
+     * Reserves the preferred port, or the first free port after it
+     *
+     * @param preferredPort preferred port
+     * @return returns the reserved port
+     */
+    public synchronized int reserve(int preferredPort) {
+        int lastPort = Math.min(65535, preferredPort + searchRange);
+        for (int port = preferredPort; port <= lastPort; port++)
+            if (!reserved.contains(port) && systemUtilities.portIsAvailable(port)) {
+                reserved.add(port);
+                return port;
+            }
+        throw new PickleibException("No free port could be reserved between " + preferredPort + " and " + lastPort + "!");
+    }
+
+    /**
+     * Releases a reserved port
+     *
+     * @param port reserved port
+     */
+    public synchronized void release(int port) {
+        reserved.remove(port);
+    }
+
+    public synchronized boolean isReserved(int port) {
+        return reserved.contains(port);
+    }
+}
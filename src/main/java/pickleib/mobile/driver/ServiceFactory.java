@@ -17,17 +17,29 @@ public class ServiceFactory {
     static Integer port;
 
     public static void startService(String address, Integer port){
-        log.info("Starting service on " + PURPLE.getValue() + address + ":" + port + RESET.getValue());
         ServiceFactory.address = address;
         ServiceFactory.port = port;
-        service = new AppiumServiceBuilder()
+        service = buildService(address, port);
+        service.start();
+    }
+
+    /**
+     * Builds an appium service on a given address and port, without starting it
+     *
+     * @param address service address
+     * @param port    service port
+     * @return returns the service
+     */
+    public static AppiumDriverLocalService buildService(String address, Integer port){
+        log.info("Starting service on " + PURPLE.getValue() + address + ":" + port + RESET.getValue());
+        AppiumDriverLocalService service = new AppiumServiceBuilder()
                 .withIPAddress(address)
                 .usingPort(port)
                 .withTimeout(Duration.ofSeconds(Integer.parseInt(ContextStore.get("appium-server-launch-timeout", "45"))))
                 .build();
         if(!Boolean.parseBoolean(ContextStore.get("detailed-logging", "false")))
-            ServiceFactory.service.clearOutPutStreams();
-        service.start();
+            service.clearOutPutStreams();
+        return service;
     }
 
 }
@@ -0,0 +1,55 @@
+package pickleib.mobile.profile;
+
+import java.lang.annotation.*;
+
+/**
+ * Appium settings applied while the elements of a screen object are interacted with.
+ * Settings that are left at their defaults are not changed. Settings are applied through the Appium settings API and
+ * reverted to the session values afterwards, see {@link PerformanceProfiles} for the scope of a profile.
+ *
+ * <pre>{@code
+ * @PerformanceProfile(waitForIdleTimeout = 0, ignoreUnimportantViews = "true")
+ * public class ProductListScreen extends PickleibScreenObject {...}
+ * }</pre>
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface PerformanceProfile {
+
+    /**
+     * Profile name the timings are recorded under, the screen object class name by default
+     */
+    String name() default "";
+
+    /**
+     * UiAutomator2 idle wait before every lookup and action, in milliseconds
+     */
+    long waitForIdleTimeout() default -1;
+
+    /**
+     * UiAutomator2 selector wait, in milliseconds
+     */
+    long waitForSelectorTimeout() default -1;
+
+    /**
+     * Excludes views that are not important for accessibility from the UiAutomator2 hierarchy, "true" or "false"
+     */
+    String ignoreUnimportantViews() default "";
+
+    /**
+     * XCUITest snapshot depth of the element tree
+     */
+    int snapshotMaxDepth() default -1;
+
+    /**
+     * XCUITest snapshot timeout, in seconds
+     */
+    double customSnapshotTimeout() default -1;
+
+    /**
+     * Any other settings, as "key=value" pairs
+     */
+    String[] settings() default {};
+}
@@ -0,0 +1,229 @@
+package pickleib.mobile.profile;
+
+import context.ContextStore;
+import io.appium.java_client.HasSettings;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+import pickleib.exceptions.PickleibException;
+import pickleib.utilities.instrumentation.LatencyHistogram;
+import utils.Printer;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Applies the {@link PerformanceProfile} of screen objects through the Appium settings API.
+ * The session values of the changed settings are read once per session, and are restored when a profile is reverted.
+ * Switching between profiles only sends the settings that differ. Elements of screen objects without a profile revert
+ * the applied profile on their first call, and sessions are reverted when they are terminated or returned to the
+ * session pool. Element call durations are recorded per profile, so that profiles can be compared.
+ */
+@SuppressWarnings("unused")
+public class PerformanceProfiles {
+
+    static Printer log = new Printer(PerformanceProfiles.class);
+
+    /**
+     * determines if the performance profiles of screen objects are applied
+     */
+    static boolean enabled = Boolean.parseBoolean(ContextStore.get("performance-profiles", "true"));
+
+    /**
+     * determines how long a profile stays applied, until an element of another (or no) profile is called ("screen"),
+     * or only during every element call ("interaction", two extra round trips per call)
+     */
+    static Scope scope = Scope.valueOf(ContextStore.get("performance-profile-scope", "screen"));
+
+    public enum Scope {interaction, screen}
+
+    private static final Map<RemoteWebDriver, Session> sessions = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Map<String, LatencyHistogram> timings = new ConcurrentHashMap<>();
+
+    /**
+     * Wraps the field decorator of a screen object, screen objects without a performance profile get elements that
+     * revert the applied profile
+     *
+     * @param decorator field decorator of the screen object
+     * @param screen screen object
+     * @param driver driver of the screen object
+     * @return returns a profiled field decorator, or the given decorator if profiles are disabled
+     */
+    public static FieldDecorator decorate(FieldDecorator decorator, Object screen, RemoteWebDriver driver) {
+        if (!enabled) return decorator;
+        PerformanceProfile profile = screen.getClass().getAnnotation(PerformanceProfile.class);
+        if (profile == null) return new ProfiledFieldDecorator(decorator, driver, null, Map.of());
+        return new ProfiledFieldDecorator(decorator, driver, nameOf(screen.getClass(), profile), settingsOf(profile));
+    }
+
+    /**
+     * Returns the profile name of a screen object class
+     */
+    public static String nameOf(Class<?> screen, PerformanceProfile profile) {
+        return profile.name().isEmpty() ? screen.getSimpleName() : profile.name();
+    }
+
+    /**
+     * Returns the Appium settings of a profile, settings left at their defaults are omitted
+     *
+     * @param profile performance profile
+     * @return returns the settings, keyed by setting name
+     */
+    public static Map<String, Object> settingsOf(PerformanceProfile profile) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        if (profile.waitForIdleTimeout() >= 0) settings.put("waitForIdleTimeout", profile.waitForIdleTimeout());
+        if (profile.waitForSelectorTimeout() >= 0) settings.put("waitForSelectorTimeout", profile.waitForSelectorTimeout());
+        if (!profile.ignoreUnimportantViews().isEmpty())
+            settings.put("ignoreUnimportantViews", Boolean.parseBoolean(profile.ignoreUnimportantViews()));
+        if (profile.snapshotMaxDepth() >= 0) settings.put("snapshotMaxDepth", profile.snapshotMaxDepth());
+        if (profile.customSnapshotTimeout() >= 0) settings.put("customSnapshotTimeout", profile.customSnapshotTimeout());
+        for (String setting : profile.settings()) {
+            int separator = setting.indexOf('=');
+            if (separator < 1)
+                throw new PickleibException("Invalid performance profile setting '" + setting + "', expected 'key=value'!");
+            settings.put(setting.substring(0, separator).trim(), valueOf(setting.substring(separator + 1).trim()));
+        }
+        return Collections.unmodifiableMap(settings);
+    }
+
+    /**
+     * Applies a profile before an element call, nested calls keep the profile that is already applied
+     *
+     * @param driver driver session
+     * @param profile profile name, null to revert the applied profile
+     * @param settings profile settings
+     */
+    static void enter(RemoteWebDriver driver, String profile, Map<String, Object> settings) {
+        Session session = profile == null ? sessions.get(driver) : sessions.computeIfAbsent(driver, key -> new Session());
+        if (session == null) return;
+        synchronized (session) {
+            if (session.depth++ > 0 || Objects.equals(profile, session.profile)) return;
+            apply(driver, session, profile, settings);
+        }
+    }
+
+    /**
+     * Records an element call, and reverts the profile after the outermost call if the profile scope is "interaction"
+     *
+     * @param driver driver session
+     * @param profile profile name, null for elements without a profile
+     * @param duration call duration in nanoseconds
+     */
+    static void exit(RemoteWebDriver driver, String profile, long duration) {
+        Session session = sessions.get(driver);
+        if (session == null) return;
+        synchronized (session) {
+            if (--session.depth > 0) return;
+            session.depth = 0;
+            if (profile != null) timings.computeIfAbsent(profile, key -> new LatencyHistogram()).record(duration);
+            if (scope == Scope.interaction && session.profile != null) apply(driver, session, null, Map.of());
+        }
+    }
+
+    /**
+     * Restores the session values of the settings changed by the applied profile
+     *
+     * @param driver driver session
+     */
+    public static void revert(RemoteWebDriver driver) {
+        Session session = sessions.get(driver);
+        if (session == null) return;
+        synchronized (session) {
+            if (session.profile != null) apply(driver, session, null, Map.of());
+        }
+    }
+
+    /**
+     * Switches the settings of a session to a given profile, only settings that change are sent
+     */
+    private static void apply(RemoteWebDriver driver, Session session, String profile, Map<String, Object> settings) {
+        if (!(driver instanceof HasSettings settingsDriver)) {
+            if (!session.unsupported) log.warning("Driver does not support Appium settings, performance profiles are ignored");
+            session.unsupported = true;
+            session.profile = profile;
+            return;
+        }
+        try {
+            if (!session.baseline.keySet().containsAll(settings.keySet())) {
+                Map<String, Object> current = settingsDriver.getSettings();
+                for (String key : settings.keySet()) session.baseline.putIfAbsent(key, current.get(key));
+            }
+            Map<String, Object> update = new HashMap<>();
+            for (String key : session.applied.keySet())
+                if (!settings.containsKey(key) && session.baseline.get(key) != null) update.put(key, session.baseline.get(key));
+            for (Map.Entry<String, Object> setting : settings.entrySet())
+                if (!Objects.equals(session.applied.get(setting.getKey()), setting.getValue()))
+                    update.put(setting.getKey(), setting.getValue());
+            if (!update.isEmpty()) settingsDriver.setSettings(update);
+        }
+        catch (WebDriverException exception) {
+            log.warning("Could not apply the " + (profile == null ? "session" : profile) + " settings: " + exception.getMessage());
+        }
+        session.profile = profile;
+        session.applied = settings;
+    }
+
+    private static Object valueOf(String value) {
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) return Boolean.parseBoolean(value);
+        try {return Long.parseLong(value);}
+        catch (NumberFormatException ignored) {}
+        try {return Double.parseDouble(value);}
+        catch (NumberFormatException ignored) {}
+        return value;
+    }
+
+    /**
+     * Returns the element call durations (in nanoseconds) of all profiles, keyed by profile name
+     */
+    public static Map<String, LatencyHistogram> getTimings() {
+        return timings;
+    }
+
+    /**
+     * Logs the element call durations of every profile
+     */
+    public static void report() {
+        timings.forEach((profile, histogram) -> log.info(highlighted(PURPLE, profile) + highlighted(GRAY, String.format(
+                " -> calls: %d, mean: %.1fms, p50: %.1fms, p90: %.1fms, max: %.1fms",
+                histogram.getCount(),
+                millis((long) histogram.getMean()),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getMax())
+        ))));
+    }
+
+    /**
+     * Clears the recorded timings
+     */
+    public static void reset() {
+        timings.clear();
+    }
+
+    public static void setEnabled(boolean enabled) {
+        PerformanceProfiles.enabled = enabled;
+    }
+
+    public static void setScope(Scope scope) {
+        PerformanceProfiles.scope = scope;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Profile state of a driver session
+     */
+    static class Session {
+        final Map<String, Object> baseline = new HashMap<>();
+        Map<String, Object> applied = Map.of();
+        String profile;
+        int depth;
+        boolean unsupported;
+    }
+}
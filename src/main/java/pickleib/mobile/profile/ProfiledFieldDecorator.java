@@ -0,0 +1,42 @@
+package pickleib.mobile.profile;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.pagefactory.FieldDecorator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorates the element fields of a screen object through a given decorator, and wraps the decorated elements
+ * (and element lists, along with the elements they return) so that every call to them runs under a performance profile
+ */
+public class ProfiledFieldDecorator implements FieldDecorator {
+
+    private final FieldDecorator decorator;
+    private final RemoteWebDriver driver;
+    private final String profile;
+    private final Map<String, Object> settings;
+
+    public ProfiledFieldDecorator(FieldDecorator decorator, RemoteWebDriver driver, String profile, Map<String, Object> settings) {
+        this.decorator = decorator;
+        this.driver = driver;
+        this.profile = profile;
+        this.settings = settings;
+    }
+
+    @Override
+    public Object decorate(ClassLoader loader, Field field) {
+        Object value = decorator.decorate(loader, field);
+        if (value instanceof WebElement element) return ProfiledInvocationHandler.wrap(element, driver, profile, settings);
+        if (value instanceof List<?>)
+            return Proxy.newProxyInstance(
+                    loader,
+                    new Class<?>[]{List.class},
+                    new ProfiledInvocationHandler(value, driver, profile, settings)
+            );
+        return value;
+    }
+}
@@ -0,0 +1,109 @@
+package pickleib.mobile.profile;
+
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies a performance profile around the calls to a decorated element (or element list) of a screen object.
+ * Calls to element lists run against a snapshot of the list whose elements are profiled as well.
+ */
+public class ProfiledInvocationHandler implements InvocationHandler {
+
+    private final Object target;
+    private final RemoteWebDriver driver;
+    private final String profile;
+    private final Map<String, Object> settings;
+
+    ProfiledInvocationHandler(Object target, RemoteWebDriver driver, String profile, Map<String, Object> settings) {
+        this.target = target;
+        this.driver = driver;
+        this.profile = profile;
+        this.settings = settings;
+    }
+
+    /**
+     * Wraps an element so that every call to it runs under a given profile
+     *
+     * @param element decorated element
+     * @param driver driver of the screen object
+     * @param profile profile name, null to revert the applied profile on every call
+     * @param settings profile settings
+     * @return returns the profiled element
+     */
+    static WebElement wrap(WebElement element, RemoteWebDriver driver, String profile, Map<String, Object> settings) {
+        if (Proxy.isProxyClass(element.getClass()) && Proxy.getInvocationHandler(element) instanceof ProfiledInvocationHandler)
+            return element;
+        List<Class<?>> interfaces = new ArrayList<>(List.of(WebElement.class, WrapsElement.class));
+        for (Class<?> type : List.of(Locatable.class, TakesScreenshot.class, WrapsDriver.class))
+            if (type.isInstance(element)) interfaces.add(type);
+        return (WebElement) Proxy.newProxyInstance(
+                ProfiledInvocationHandler.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]),
+                new ProfiledInvocationHandler(element, driver, profile, settings)
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == WrapsElement.class) return target;
+        if (method.getDeclaringClass() == Object.class || method.getDeclaringClass() == WrapsDriver.class)
+            return invoke(method, args);
+
+        PerformanceProfiles.enter(driver, profile, settings);
+        long initialTime = System.nanoTime();
+        try {
+            return invoke(method, args);
+        }
+        finally {
+            PerformanceProfiles.exit(driver, profile, System.nanoTime() - initialTime);
+        }
+    }
+
+    private Object invoke(Method method, Object[] args) throws Throwable {
+        try {
+            if (target instanceof List<?> list && method.getDeclaringClass() != Object.class) {
+                List<Object> elements = new ArrayList<>();
+                for (Object element : list)
+                    elements.add(element instanceof WebElement webElement ? wrap(webElement, driver, profile, settings) : element);
+                return method.invoke(elements, args);
+            }
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException exception) {
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Returns the decorated element (or element list)
+     */
+    public Object getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the driver of the screen object
+     */
+    public RemoteWebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Returns the profile name, or null for elements of screen objects without a profile
+     */
+    public String getProfile() {
+        return profile;
+    }
+}
@@ -0,0 +1,391 @@
+package pickleib.mobile.snapshot;
+
+import context.ContextStore;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+import pickleib.exceptions.PickleibException;
+import pickleib.mobile.profile.ProfiledInvocationHandler;
+import pickleib.utilities.platform.PlatformUtilities;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An indexed, in-memory copy of an Appium page source.
+ * The source is fetched once, then text, attribute, id, accessibility id, class and XPath queries are answered locally;
+ * the device is only reached to resolve the node that is finally interacted with. Snapshots are cached per driver
+ * and discarded after any mutating interaction ({@link #invalidate()}) or once they are older than the configured ttl.
+ */
+@SuppressWarnings("unused")
+public class PageSourceSnapshot {
+
+    /**
+     * determines if element lists are read from page source snapshots on Appium drivers
+     */
+    static boolean enabled = Boolean.parseBoolean(ContextStore.get("page-source-snapshot", "false"));
+
+    /**
+     * determines the maximum age of a cached snapshot in milliseconds
+     */
+    static long ttl = Long.parseLong(ContextStore.get("page-source-snapshot-ttl", "1000"));
+
+    private static final AtomicLong epoch = new AtomicLong();
+    private static final Map<RemoteWebDriver, PageSourceSnapshot> snapshots = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<RemoteWebDriver> driver;
+    private final long capturedEpoch;
+    private final long capturedAt = System.currentTimeMillis();
+    private final Document document;
+    private final List<SnapshotNode> nodes = new ArrayList<>();
+    private final Map<Node, SnapshotNode> nodesByDomNode = new IdentityHashMap<>();
+    private final Map<String, List<SnapshotNode>> nodesByText = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> nodesByResourceId = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> nodesByAccessibilityId = new HashMap<>();
+    private final Map<String, List<SnapshotNode>> nodesByClass = new HashMap<>();
+
+    PageSourceSnapshot(String pageSource, RemoteWebDriver driver) {
+        this.driver = new WeakReference<>(driver);
+        this.capturedEpoch = epoch.get();
+        this.document = parseDocument(pageSource);
+        index(document.getDocumentElement(), null, "");
+    }
+
+    /**
+     * Parses a captured page source, the snapshot is not bound to a driver
+     *
+     * @param pageSource page source XML
+     * @return returns the snapshot
+     */
+    public static PageSourceSnapshot parse(String pageSource) {
+        return new PageSourceSnapshot(pageSource, null);
+    }
+
+    /**
+     * Returns the snapshot of the current screen of a given driver, the page source is fetched if there is no valid snapshot
+     *
+     * @param driver target driver
+     * @return returns the snapshot
+     */
+    public static PageSourceSnapshot of(RemoteWebDriver driver) {
+        PageSourceSnapshot snapshot = snapshots.get(driver);
+        if (snapshot == null || !snapshot.isValid()) {
+            snapshot = new PageSourceSnapshot(driver.getPageSource(), driver);
+            snapshots.put(driver, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Discards all cached snapshots, called after interactions that may change the screen
+     */
+    public static void invalidate() {
+        epoch.incrementAndGet();
+    }
+
+    /**
+     * Discards the cached snapshot of a given driver
+     *
+     * @param driver target driver
+     */
+    public static void invalidate(RemoteWebDriver driver) {
+        snapshots.remove(driver);
+    }
+
+    /**
+     * Returns true if the snapshot was captured after the latest mutating interaction and is younger than the ttl
+     */
+    public boolean isValid() {
+        return capturedEpoch == epoch.get() && System.currentTimeMillis() - capturedAt <= ttl;
+    }
+
+    /**
+     * Maps a list of (PageFactory or Appium decorated) element proxies to snapshot nodes.
+     * A proxied list maps to all nodes matching its locator, a list of proxied elements maps to the first match of each locator.
+     * Lists located within an element are not mapped, they are read from the device.
+     *
+     * @param elements element list
+     * @return returns the matching nodes, or null if snapshots are disabled or the list cannot be mapped locally
+     */
+    public static List<SnapshotNode> nodesOf(List<? extends WebElement> elements) {
+        if (!enabled) return null;
+        ElementLocator listLocator = locatorOf(elements);
+        if (listLocator != null) {
+            PageSourceSnapshot snapshot = snapshotOf(listLocator);
+            By by = byOf(listLocator);
+            return snapshot != null && by != null && snapshot.supports(by) ? snapshot.findAll(by) : null;
+        }
+        List<SnapshotNode> nodes = new ArrayList<>();
+        for (WebElement element : elements) {
+            ElementLocator locator = locatorOf(element);
+            if (locator == null) return null;
+            PageSourceSnapshot snapshot = snapshotOf(locator);
+            By by = byOf(locator);
+            if (snapshot == null || by == null || !snapshot.supports(by)) return null;
+            List<SnapshotNode> matches = snapshot.findAll(by);
+            if (matches.isEmpty()) return null;
+            nodes.add(matches.get(0));
+        }
+        return nodes;
+    }
+
+    /**
+     * Returns all nodes, in document order
+     */
+    public List<SnapshotNode> getNodes() {
+        return Collections.unmodifiableList(nodes);
+    }
+
+    public List<SnapshotNode> findByText(String text) {
+        return nodesByText.getOrDefault(text, List.of());
+    }
+
+    public List<SnapshotNode> findByTextContaining(String text) {
+        List<SnapshotNode> matches = new ArrayList<>();
+        for (SnapshotNode node : nodes) if (node.getText().contains(text)) matches.add(node);
+        return matches;
+    }
+
+    /**
+     * Finds nodes by resource id, either the full id (package:id/name) or the name alone
+     */
+    public List<SnapshotNode> findByResourceId(String id) {
+        List<SnapshotNode> matches = nodesByResourceId.get(id);
+        if (matches != null) return matches;
+        matches = new ArrayList<>();
+        for (SnapshotNode node : nodes) {
+            String resourceId = node.getResourceId();
+            if (resourceId != null && resourceId.endsWith(":id/" + id)) matches.add(node);
+        }
+        return matches;
+    }
+
+    public List<SnapshotNode> findByAccessibilityId(String accessibilityId) {
+        return nodesByAccessibilityId.getOrDefault(accessibilityId, List.of());
+    }
+
+    public List<SnapshotNode> findByClass(String className) {
+        return nodesByClass.getOrDefault(className, List.of());
+    }
+
+    /**
+     * Evaluates an XPath expression against the snapshot
+     *
+     * @param expression XPath expression
+     * @return returns the matching nodes, in document order
+     */
+    public List<SnapshotNode> findByXPath(String expression) {
+        try {
+            NodeList matches = (NodeList) XPathFactory.newInstance().newXPath().evaluate(expression, document, XPathConstants.NODESET);
+            List<SnapshotNode> result = new ArrayList<>(matches.getLength());
+            for (int index = 0; index < matches.getLength(); index++) {
+                SnapshotNode node = nodesByDomNode.get(matches.item(index));
+                if (node != null) result.add(node);
+            }
+            return result;
+        }
+        catch (XPathExpressionException exception) {
+            throw new PickleibException("Invalid xpath: " + expression, exception);
+        }
+    }
+
+    /**
+     * Finds the nodes matching a given locator. Id, accessibility id, class name, tag name, name, xpath and ByAll
+     * locators are supported.
+     *
+     * @param by locator
+     * @return returns the matching nodes
+     */
+    public List<SnapshotNode> findAll(By by) {
+        List<By> bys = bysOf(by);
+        if (bys != null) {
+            Set<SnapshotNode> matches = new LinkedHashSet<>();
+            for (By member : bys) matches.addAll(findAll(member));
+            return new ArrayList<>(matches);
+        }
+        String[] locator = parseLocator(by);
+        if (locator == null) throw new PickleibException("Locator " + by + " is not supported by page source snapshots!");
+        return switch (locator[0]) {
+            case "id" -> findByResourceId(locator[1]);
+            case "accessibilityId" -> findByAccessibilityId(locator[1]);
+            case "className", "tagName" -> findByClass(locator[1]);
+            case "xpath" -> findByXPath(locator[1]);
+            case "name" -> findByXPath("//*[@name='" + locator[1] + "']");
+            default -> throw new PickleibException("Locator " + by + " is not supported by page source snapshots!");
+        };
+    }
+
+    /**
+     * Finds the first node matching a given locator
+     *
+     * @param by locator
+     * @return returns the first matching node
+     */
+    public SnapshotNode findElement(By by) {
+        List<SnapshotNode> matches = findAll(by);
+        if (matches.isEmpty()) throw new NoSuchElementException("No node matching " + by + " in the page source snapshot!");
+        return matches.get(0);
+    }
+
+    /**
+     * Returns true if a given locator can be answered by the snapshot
+     */
+    public boolean supports(By by) {
+        List<By> bys = bysOf(by);
+        if (bys != null) return bys.stream().allMatch(this::supports);
+        String[] locator = parseLocator(by);
+        return locator != null && Set.of("id", "accessibilityId", "className", "tagName", "xpath", "name").contains(locator[0]);
+    }
+
+    public RemoteWebDriver getDriver() {
+        return driver.get();
+    }
+
+    private void index(Element element, SnapshotNode parent, String parentPath) {
+        String tagName = element.getTagName();
+        Map<String, String> attributes = new HashMap<>();
+        NamedNodeMap domAttributes = element.getAttributes();
+        for (int index = 0; index < domAttributes.getLength(); index++) {
+            Node attribute = domAttributes.item(index);
+            attributes.put(attribute.getNodeName(), attribute.getNodeValue());
+        }
+        int position = 1;
+        for (Node sibling = element.getPreviousSibling(); sibling != null; sibling = sibling.getPreviousSibling())
+            if (sibling instanceof Element && ((Element) sibling).getTagName().equals(tagName)) position++;
+        String xPath = parent == null ? "/" + tagName : parentPath + "/" + tagName + "[" + position + "]";
+
+        SnapshotNode node = new SnapshotNode(this, parent, tagName, attributes, xPath);
+        if (parent != null) parent.children.add(node);
+        nodes.add(node);
+        nodesByDomNode.put(element, node);
+        nodesByText.computeIfAbsent(node.getText(), key -> new ArrayList<>()).add(node);
+        nodesByClass.computeIfAbsent(tagName, key -> new ArrayList<>()).add(node);
+        String resourceId = node.getResourceId();
+        if (resourceId != null && !resourceId.isEmpty())
+            nodesByResourceId.computeIfAbsent(resourceId, key -> new ArrayList<>()).add(node);
+        String accessibilityId = node.getAccessibilityId();
+        if (accessibilityId != null && !accessibilityId.isEmpty())
+            nodesByAccessibilityId.computeIfAbsent(accessibilityId, key -> new ArrayList<>()).add(node);
+
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling())
+            if (child instanceof Element childElement) index(childElement, node, xPath);
+    }
+
+    private static Document parseDocument(String pageSource) {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setExpandEntityReferences(false);
+            return factory.newDocumentBuilder().parse(new InputSource(new StringReader(pageSource)));
+        }
+        catch (Exception exception) {
+            throw new PickleibException("Page source could not be parsed!", exception);
+        }
+    }
+
+    /**
+     * Splits the string form of a Selenium or Appium locator (e.g. "By.id: name", "AppiumBy.accessibilityId: name")
+     *
+     * @return returns the locator strategy and value, or null if the locator is not in the expected form
+     */
+    private static String[] parseLocator(By by) {
+        String description = by.toString();
+        int separator = description.indexOf(": ");
+        int dot = description.indexOf('.');
+        if (separator < 0 || dot < 0 || dot > separator) return null;
+        return new String[]{description.substring(dot + 1, separator), description.substring(separator + 2)};
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<By> bysOf(By by) {
+        if (!(by instanceof org.openqa.selenium.support.pagefactory.ByAll)) return null;
+        Object bys = fieldValue(by, "bys");
+        if (bys instanceof By[] array) return Arrays.asList(array);
+        if (bys instanceof List<?> list) return (List<By>) list;
+        return null;
+    }
+
+    /**
+     * Returns the snapshot of the locator driver, locators searching within an element are not mapped
+     * since the snapshot is not scoped to the element subtree
+     */
+    private static PageSourceSnapshot snapshotOf(ElementLocator locator) {
+        Object searchContext = fieldValue(locator, "searchContext");
+        if (searchContext instanceof WeakReference<?> reference) searchContext = reference.get();
+        if (searchContext instanceof WebElement) return null;
+        WebDriver driver = PlatformUtilities.getLocatorDriver(locator);
+        return driver instanceof AppiumDriver appiumDriver ? of(appiumDriver) : null;
+    }
+
+    private static By byOf(ElementLocator locator) {
+        return fieldValue(locator, "by") instanceof By by ? by : null;
+    }
+
+    /**
+     * Reads the element locator of a PageFactory proxy or an Appium (byte-buddy) decorated proxy, profiled proxies are unwrapped
+     */
+    private static ElementLocator locatorOf(Object proxy) {
+        Object handler = null;
+        if (Proxy.isProxyClass(proxy.getClass())) handler = Proxy.getInvocationHandler(proxy);
+        if (handler instanceof ProfiledInvocationHandler profiledHandler) return locatorOf(profiledHandler.getTarget());
+        else if (proxy.getClass().getName().contains("ByteBuddy")) for (Field field : proxy.getClass().getDeclaredFields()) {
+            if (field.getType().isPrimitive()) continue;
+            try {
+                field.setAccessible(true);
+                Object value = field.get(Modifier.isStatic(field.getModifiers()) ? null : proxy);
+                if (value != null && fieldValue(value, "locator") != null) {
+                    handler = value;
+                    break;
+                }
+            }
+            catch (ReflectiveOperationException | RuntimeException ignored) {}
+        }
+        return handler != null && fieldValue(handler, "locator") instanceof ElementLocator locator ? locator : null;
+    }
+
+    private static Object fieldValue(Object object, String fieldName) {
+        for (Class<?> type = object.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                return field.get(object);
+            }
+            catch (NoSuchFieldException ignored) {}
+            catch (ReflectiveOperationException | RuntimeException exception) {return null;}
+        }
+        return null;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        PageSourceSnapshot.enabled = enabled;
+    }
+
+    public static void setTtl(long ttl) {
+        PageSourceSnapshot.ttl = ttl;
+    }
+}
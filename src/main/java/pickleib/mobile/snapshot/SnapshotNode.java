@@ -0,0 +1,124 @@
+package pickleib.mobile.snapshot;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.exceptions.PickleibException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An element of a {@link PageSourceSnapshot}. Text and attribute queries are answered from the captured page source,
+ * the device is only reached when the node is resolved to a WebElement.
+ */
+@SuppressWarnings("unused")
+public class SnapshotNode {
+
+    private static final Map<String, String> attributeAliases = Map.of(
+            "contentDescription", "content-desc",
+            "resourceId", "resource-id",
+            "className", "class"
+    );
+
+    final PageSourceSnapshot snapshot;
+    final SnapshotNode parent;
+    final String tagName;
+    final Map<String, String> attributes;
+    final List<SnapshotNode> children = new ArrayList<>();
+    final String xPath;
+
+    SnapshotNode(PageSourceSnapshot snapshot, SnapshotNode parent, String tagName, Map<String, String> attributes, String xPath) {
+        this.snapshot = snapshot;
+        this.parent = parent;
+        this.tagName = tagName;
+        this.attributes = attributes;
+        this.xPath = xPath;
+    }
+
+    /**
+     * Returns the text of the node, as UiAutomator2 (text) or XCUITest (value, then label) would report it
+     */
+    public String getText() {
+        if (attributes.containsKey("text")) return attributes.get("text");
+        String value = attributes.get("value");
+        if (value != null && !value.isEmpty()) return value;
+        String label = attributes.get("label");
+        return label != null ? label : "";
+    }
+
+    /**
+     * Returns an attribute of the node
+     *
+     * @param name attribute name, camel case UiAutomator2 names (contentDescription, resourceId, className) are accepted
+     * @return returns the attribute value, or null if the node has no such attribute
+     */
+    public String getAttribute(String name) {
+        String value = attributes.get(name);
+        if (value == null && attributeAliases.containsKey(name)) value = attributes.get(attributeAliases.get(name));
+        return value;
+    }
+
+    /**
+     * Returns the resource id (Android) or the name (iOS) of the node
+     */
+    public String getResourceId() {
+        return attributes.containsKey("resource-id") ? attributes.get("resource-id") : attributes.get("name");
+    }
+
+    /**
+     * Returns the accessibility id of the node, the content description on Android and the name on iOS
+     */
+    public String getAccessibilityId() {
+        return attributes.containsKey("content-desc") ? attributes.get("content-desc") : attributes.get("name");
+    }
+
+    /**
+     * Returns true unless the page source marks the node as not displayed (Android) or not visible (iOS)
+     */
+    public boolean isDisplayed() {
+        String displayed = attributes.containsKey("displayed") ? attributes.get("displayed") : attributes.get("visible");
+        return displayed == null || Boolean.parseBoolean(displayed);
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    public Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public SnapshotNode getParent() {
+        return parent;
+    }
+
+    public List<SnapshotNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Returns the absolute, indexed XPath of the node within the page source
+     */
+    public String getXPath() {
+        return xPath;
+    }
+
+    /**
+     * Locates the node on the device by its absolute XPath
+     *
+     * @return returns the element
+     */
+    public WebElement resolve() {
+        RemoteWebDriver driver = snapshot.getDriver();
+        if (driver == null) throw new PickleibException("Snapshot of node " + xPath + " is not bound to a driver!");
+        return driver.findElement(By.xpath(xPath));
+    }
+
+    @Override
+    public String toString() {
+        return xPath;
+    }
+}
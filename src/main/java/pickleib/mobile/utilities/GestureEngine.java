@@ -0,0 +1,198 @@
+package pickleib.mobile.utilities;
+
+import io.appium.java_client.remote.SupportsRotation;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.ScreenOrientation;
+import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
+import org.openqa.selenium.interactions.Pause;
+import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.exceptions.PickleibException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static java.time.Duration.ofMillis;
+
+/**
+ * Builds touch gestures as a single W3C action sequence.
+ * Swipes are appended as segments (move, down, pause, move, pause, up) and submitted together with {@link #perform()},
+ * so a multi-step gesture costs one round trip. Viewport geometry is cached per session and invalidated on rotation.
+ */
+@SuppressWarnings("unused")
+public class GestureEngine {
+
+    private static final Map<RemoteWebDriver, Dimension> viewports = Collections.synchronizedMap(new WeakHashMap<>());
+
+    final RemoteWebDriver driver;
+    final PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
+    final Sequence sequence = new Sequence(finger, 1);
+    int segments;
+
+    public GestureEngine(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Returns the viewport size of a given session, the size is acquired once per session (and orientation)
+     *
+     * @param driver target session
+     * @return returns the viewport size
+     */
+    public static Dimension getViewport(RemoteWebDriver driver) {
+        Dimension viewport = viewports.get(driver);
+        if (viewport == null) {
+            viewport = driver.manage().window().getSize();
+            viewports.put(driver, viewport);
+        }
+        return viewport;
+    }
+
+    /**
+     * Returns the center of the viewport of a given session
+     *
+     * @param driver target session
+     * @return returns the viewport center
+     */
+    public static Point getCenter(RemoteWebDriver driver) {
+        Dimension viewport = getViewport(driver);
+        return new Point(viewport.getWidth() / 2, viewport.getHeight() / 2);
+    }
+
+    /**
+     * Drops the cached viewport size of a given session
+     *
+     * @param driver target session
+     */
+    public static void invalidate(RemoteWebDriver driver) {
+        viewports.remove(driver);
+    }
+
+    /**
+     * Rotates the device and drops the cached viewport size
+     *
+     * @param driver target session
+     * @param orientation target orientation
+     */
+    public static void rotate(RemoteWebDriver driver, ScreenOrientation orientation) {
+        if (!(driver instanceof SupportsRotation rotatable))
+            throw new PickleibException("Driver " + driver.getClass().getSimpleName() + " does not support rotation!");
+        rotatable.rotate(orientation);
+        invalidate(driver);
+    }
+
+    /**
+     * Computes the swipes that bring an element location to the center of the viewport.
+     * Every swipe departs from the viewport center, full steps are a third of the viewport, the last swipe covers the remainder.
+     *
+     * @param location element location
+     * @param viewport viewport size
+     * @return returns the points of arrival of the swipes, in order
+     */
+    public static List<Point> centeringPath(Point location, Dimension viewport) {
+        Point center = new Point(viewport.getWidth() / 2, viewport.getHeight() / 2);
+
+        int verticalScrollDist = location.getY() - center.getY();
+        int verticalScrollStep = Math.max(1, viewport.getHeight() / 3);
+
+        int horizontalScrollDist = location.getX() - center.getX();
+        int horizontalScrollStep = Math.max(1, viewport.getWidth() / 3);
+
+        List<Point> path = new ArrayList<>();
+        int steps = verticalScrollDist / verticalScrollStep;
+        for (int i = 0; i <= steps; i++) {
+            if (i == steps)
+                path.add(new Point(
+                        center.getX() + horizontalScrollDist % horizontalScrollStep,
+                        center.getY() + verticalScrollDist % verticalScrollStep
+                ));
+            else
+                path.add(new Point(
+                        center.getX() + horizontalScrollStep,
+                        center.getY() + verticalScrollStep
+                ));
+        }
+        return path;
+    }
+
+    /**
+     * Appends a swipe segment to the gesture
+     *
+     * @param pointOfDeparture The starting point of the swipe.
+     * @param pointOfArrival   The ending point of the swipe.
+     * @return returns the gesture engine
+     */
+    public GestureEngine swipe(Point pointOfDeparture, Point pointOfArrival) {
+        if (segments++ > 0) sequence.addAction(new Pause(finger, ofMillis(250)));
+        sequence.addAction(finger.createPointerMove(
+                ofMillis(0),
+                PointerInput.Origin.viewport(), pointOfDeparture.x, pointOfDeparture.y)
+        );
+        sequence.addAction(finger.createPointerDown(PointerInput.MouseButton.MIDDLE.asArg()));
+        sequence.addAction(new Pause(finger, ofMillis(250)));
+        sequence.addAction(finger.createPointerMove(
+                ofMillis(750),
+                PointerInput.Origin.viewport(), pointOfArrival.x, pointOfArrival.y)
+        );
+        sequence.addAction(new Pause(finger, ofMillis(250)));
+        sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.MIDDLE.asArg()));
+        return this;
+    }
+
+    /**
+     * Appends a swipe segment departing from the viewport center
+     *
+     * @param pointOfArrival The ending point of the swipe.
+     * @return returns the gesture engine
+     */
+    public GestureEngine swipeFromCenter(Point pointOfArrival) {
+        return swipe(getCenter(driver), pointOfArrival);
+    }
+
+    /**
+     * Appends the swipes that bring an element location to the center of the viewport
+     *
+     * @param location element location
+     * @return returns the gesture engine
+     */
+    public GestureEngine center(Point location) {
+        Point center = getCenter(driver);
+        for (Point pointOfArrival : centeringPath(location, getViewport(driver)))
+            swipe(center, pointOfArrival);
+        return this;
+    }
+
+    /**
+     * Number of swipe segments appended to the gesture
+     */
+    public int getSegments() {
+        return segments;
+    }
+
+    /**
+     * Performs all appended segments as one action sequence, through the default {@link GestureExecutor}
+     */
+    public void perform() {
+        perform("gesture");
+    }
+
+    /**
+     * Performs all appended segments as one action sequence, through the default {@link GestureExecutor}.
+     * An out of bounds move drops the cached viewport size, as the screen was likely rotated.
+     *
+     * @param gesture gesture name, used for logs and metrics
+     */
+    public void perform(String gesture) {
+        if (segments == 0) return;
+        try {GestureExecutor.getDefaultExecutor().perform(gesture, driver, sequence);}
+        catch (MoveTargetOutOfBoundsException exception) {
+            invalidate(driver);
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package pickleib.mobile.utilities;
+
+import context.ContextStore;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.interactions.MoveTargetOutOfBoundsException;
+import org.openqa.selenium.interactions.Sequence;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import pickleib.enums.BackoffType;
+import pickleib.exceptions.PickleibException;
+import pickleib.mobile.snapshot.PageSourceSnapshot;
+import pickleib.utilities.instrumentation.Instrumentation;
+import pickleib.utilities.interfaces.functions.GestureFunction;
+import pickleib.utilities.polling.Backoff;
+import utils.Printer;
+
+import java.util.Arrays;
+
+import static utils.StringUtilities.Color.GRAY;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Performs gestures with a bounded, backoff-spaced retry loop.
+ * Failures are classified before retrying: session level errors (lost or unreachable session) and errors that
+ * repeating the same gesture cannot fix (invalid arguments, out of bounds moves, unsupported commands) are rethrown
+ * immediately, other WebDriverExceptions are retried until the attempt limit or the timeout is reached.
+ */
+@SuppressWarnings("unused")
+public class GestureExecutor {
+
+    static Printer log = new Printer(GestureExecutor.class);
+
+    /**
+     * determines the time window gestures are retried in, in milliseconds
+     */
+    static long gestureTimeout = Long.parseLong(ContextStore.get("gesture-timeout", "15000"));
+
+    /**
+     * determines the maximum number of attempts per gesture, 0 means limited by the timeout only
+     */
+    static int maxAttempts = Integer.parseInt(ContextStore.get("gesture-max-attempts", "0"));
+
+    private static volatile GestureExecutor defaultExecutor;
+
+    final Backoff backoff;
+    final long timeout;
+    final int attemptLimit;
+
+    /**
+     * Creates an executor configured by the "gesture-timeout", "gesture-max-attempts", "gesture-backoff",
+     * "gesture-interval", "gesture-max-interval" and "gesture-multiplier" properties
+     */
+    public GestureExecutor() {
+        this(
+                new Backoff(
+                        BackoffType.fromString(ContextStore.get("gesture-backoff", "jittered")),
+                        Long.parseLong(ContextStore.get("gesture-interval", "200")),
+                        Long.parseLong(ContextStore.get("gesture-max-interval", "2000")),
+                        Double.parseDouble(ContextStore.get("gesture-multiplier", "2"))
+                ),
+                gestureTimeout,
+                maxAttempts
+        );
+    }
+
+    public GestureExecutor(Backoff backoff, long timeout, int attemptLimit) {
+        this.backoff = backoff;
+        this.timeout = timeout;
+        this.attemptLimit = attemptLimit;
+    }
+
+    /**
+     * Returns the executor used by the mobile gesture helpers
+     */
+    public static GestureExecutor getDefaultExecutor() {
+        if (defaultExecutor == null)
+            synchronized (GestureExecutor.class) {
+                if (defaultExecutor == null) defaultExecutor = new GestureExecutor();
+            }
+        return defaultExecutor;
+    }
+
+    public static void setDefaultExecutor(GestureExecutor executor) {
+        defaultExecutor = executor;
+    }
+
+    /**
+     * Performs given action sequences as one gesture
+     *
+     * @param gesture   gesture name, used for logs and metrics
+     * @param driver    target session
+     * @param sequences action sequences to be performed together
+     */
+    public void perform(String gesture, RemoteWebDriver driver, Sequence... sequences) {
+        execute(gesture, System.currentTimeMillis(), () -> driver.perform(Arrays.asList(sequences)));
+    }
+
+    /**
+     * Performs a gesture, retrying retryable failures
+     *
+     * @param gesture  gesture name, used for logs and metrics
+     * @param function the gesture
+     */
+    public void execute(String gesture, GestureFunction function) {
+        execute(gesture, System.currentTimeMillis(), function);
+    }
+
+    /**
+     * Performs a gesture, retrying retryable failures until the timeout (counted from a given initial time) expires
+     *
+     * @param gesture     gesture name, used for logs and metrics
+     * @param initialTime start of the retry window
+     * @param function    the gesture
+     */
+    public void execute(String gesture, long initialTime, GestureFunction function) {
+        GestureMetrics metrics = GestureMetrics.of(gesture);
+        metrics.calls.increment();
+        long start = System.currentTimeMillis();
+        int attempts = 0;
+        try {
+            while (true) {
+                attempts++;
+                metrics.attempts.increment();
+                try {
+                    function.perform();
+                    return;
+                }
+                catch (WebDriverException exception) {
+                    long remaining = timeout - (System.currentTimeMillis() - initialTime);
+                    boolean exhausted = remaining <= 0 || (attemptLimit > 0 && attempts >= attemptLimit);
+                    if (!isRetryable(exception) || exhausted) {
+                        metrics.failures.increment();
+                        throw exception;
+                    }
+                    long delay = Math.min(backoff.delay(attempts), remaining);
+                    log.warning("Retrying " + gesture + " in " + delay + "ms (" + exception.getClass().getSimpleName() + ")");
+                    metrics.retries.increment();
+                    metrics.backoff.add(delay);
+                    Instrumentation.recordRetry(exception);
+                    Thread.sleep(delay);
+                }
+            }
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            metrics.failures.increment();
+            throw new PickleibException(highlighted(GRAY, exception.getLocalizedMessage()));
+        }
+        finally {
+            PageSourceSnapshot.invalidate();
+            metrics.elapsed.add(System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Classifies a gesture failure
+     *
+     * @param exception failure of a gesture attempt
+     * @return returns false for session level errors and errors that a repeated attempt cannot fix
+     */
+    public static boolean isRetryable(WebDriverException exception) {
+        return !(exception instanceof NoSuchSessionException
+                || exception instanceof UnreachableBrowserException
+                || exception instanceof SessionNotCreatedException
+                || exception instanceof InvalidArgumentException
+                || exception instanceof MoveTargetOutOfBoundsException
+                || exception instanceof UnsupportedCommandException);
+    }
+
+    public Backoff getBackoff() {
+        return backoff;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public int getAttemptLimit() {
+        return attemptLimit;
+    }
+
+    public static void setGestureTimeout(long gestureTimeout) {
+        GestureExecutor.gestureTimeout = gestureTimeout;
+    }
+
+    public static void setMaxAttempts(int maxAttempts) {
+        GestureExecutor.maxAttempts = maxAttempts;
+    }
+}
@@ -0,0 +1,58 @@
+package pickleib.mobile.utilities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cumulative execution totals of gestures performed through the {@link GestureExecutor}, keyed by gesture name.
+ */
+public class GestureMetrics {
+
+    private static final Map<String, GestureMetrics> metrics = new ConcurrentHashMap<>();
+
+    final LongAdder calls = new LongAdder();
+    final LongAdder attempts = new LongAdder();
+    final LongAdder retries = new LongAdder();
+    final LongAdder failures = new LongAdder();
+    final LongAdder elapsed = new LongAdder();
+    final LongAdder backoff = new LongAdder();
+
+    /**
+     * Returns the metrics of a given gesture
+     */
+    static GestureMetrics of(String gesture) {
+        return metrics.computeIfAbsent(gesture, key -> new GestureMetrics());
+    }
+
+    /**
+     * Returns the metrics of all gestures, keyed by gesture name
+     */
+    public static Map<String, GestureMetrics> getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Clears the metrics of all gestures
+     */
+    public static void reset() {
+        metrics.clear();
+    }
+
+    public long getCalls() {return calls.sum();}
+    public long getAttempts() {return attempts.sum();}
+    public long getRetries() {return retries.sum();}
+    public long getFailures() {return failures.sum();}
+    public long getElapsed() {return elapsed.sum();}
+    public long getBackoff() {return backoff.sum();}
+
+    @Override
+    public String toString() {
+        return "calls: " + getCalls() +
+                ", attempts: " + getAttempts() +
+                ", retries: " + getRetries() +
+                ", failures: " + getFailures() +
+                ", elapsed: " + getElapsed() + "ms" +
+                ", backoff: " + getBackoff() + "ms";
+    }
+}
@@ -1,11 +1,12 @@
 package pickleib.mobile.utilities;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.Point;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.interactions.Pause;
-import org.openqa.selenium.interactions.PointerInput;
+import org.openqa.selenium.interactions.Action;
 import org.openqa.selenium.interactions.Sequence;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.pagefactory.ByAll;
@@ -13,10 +14,8 @@ import pickleib.enums.Direction;
 import pickleib.mobile.driver.PickleibAppiumDriver;
 import pickleib.utilities.Utilities;
 import pickleib.utilities.interfaces.functions.LocateElement;
-import java.time.Duration;
 import java.util.List;
 
-import static java.time.Duration.ofMillis;
 import static java.util.Collections.singletonList;
 import static utils.StringUtilities.highlighted;
 import static utils.StringUtilities.Color.*;
@@ -55,37 +54,7 @@ public abstract class MobileUtilities extends Utilities {
      */
     //TODO: Implement iterative scroll that will swipe or center depending on if the element can be found in view.
     public static WebElement centerElement(WebElement element, RemoteWebDriver driver) {
-        Point center = new Point(
-                driver.manage().window().getSize().getWidth() / 2,
-                driver.manage().window().getSize().getHeight() / 2
-        );
-
-        int verticalScrollDist = element.getLocation().getY() - driver.manage().window().getSize().getHeight() / 2;
-        int verticalScrollStep = driver.manage().window().getSize().getHeight() / 3;
-
-        int horizontalScrollDist = element.getLocation().getX() - driver.manage().window().getSize().getWidth() / 2;
-        int horizontalScrollStep = driver.manage().window().getSize().getWidth() / 3;
-
-        for (int i = 0; i <= verticalScrollDist / verticalScrollStep; i++) {
-            if (i == verticalScrollDist / verticalScrollStep) {
-                swipeFromCenter(
-                        new Point(
-                                center.getX() + horizontalScrollDist % horizontalScrollStep,
-                                center.getY() + verticalScrollDist % verticalScrollStep
-                        ),
-                        driver
-                );
-            } else {
-                swipeFromCenter(
-                        new Point(
-                                center.getX() + horizontalScrollStep,
-                                center.getY() + verticalScrollStep
-                        ),
-                        driver
-                );
-            }
-        }
-
+        new GestureEngine(driver).center(element.getLocation()).perform("centerElement");
         return element;
     }
 
@@ -138,25 +107,21 @@ public abstract class MobileUtilities extends Utilities {
      * Swipes upward until the specified WebElement is found or a timeout is reached.
      *
      * <p>
-     * This method continuously swipes upward until the specified WebElement is found or a timeout occurs.
-     * If the element is found, it is returned. If the element is not found within the specified timeout,
-     * a RuntimeException is thrown.
+     * The search is delegated to the platform where possible (see {@link ScrollSearch}), otherwise the view is swiped
+     * upward until the element is found, the end of the list is reached or a timeout occurs.
      * </p>
      *
      * @param elementText The text of WebElement to be located.
      * @return The located WebElement.
      *
-     * @throws RuntimeException if the element could not be located within the specified timeout.
-     * @throws WebDriverException if WebDriver encounters an exception while interacting with the element.
-     *                            If an exception occurs during the swipe operation, the method retries the swipe.
-     *                            If the element is not found after the specified timeout, the WebDriverException is thrown.
+     * @throws NoSuchElementException if the element could not be located before the end of the list or the timeout.
      */
     public WebElement scrollUntilFound(String elementText) {
         log.info("Scrolling until an element with text " +
                 highlighted(BLUE, elementText) +
                 highlighted(GRAY, " is found.")
         );
-        return scrollUntilFound(() -> getElementByText(elementText));
+        return new ScrollSearch(driver, elementTimeout * 5).findByText(elementText, () -> scrollInDirection(Direction.up));
     }
 
     /**
@@ -181,7 +146,8 @@ public abstract class MobileUtilities extends Utilities {
      *
      * @param elementText The text of the element to be found.
      * @param locators    Additional locators to identify the list of elements.
-     * @return WebElement representing the found element, or null if not found within the specified time.
+     * @return WebElement representing the found element.
+     * @throws NoSuchElementException if the element could not be located before the end of the list or the timeout.
      */
     public WebElement scrollInList(String elementText, By... locators) {
         log.info("Scrolling the list to element with text: " + highlighted(BLUE, elementText));
@@ -190,32 +156,20 @@ public abstract class MobileUtilities extends Utilities {
 
     /**
      * Scrolls through a list of elements until an element with the specified text is found and displayed.
-     * Uses a provided list of elements to perform the scroll action.
+     * Uses a provided list of elements to perform the scroll action, the search is limited to the parent of the elements.
      *
      * @param elementText The text of the element to be found.
      * @param elements    The list of elements to scroll through.
-     * @return WebElement representing the found element, or null if not found within the specified time.
-     *
-     * Note: Works better with Android. Try scrollUntilFound() for iOS.
+     * @return WebElement representing the found element.
+     * @throws NoSuchElementException if the element could not be located before the end of the list or the timeout.
      */
     public WebElement scrollInList(String elementText, List<WebElement> elements) {
         log.info("Scrolling the list to element with text: " + highlighted(BLUE, elementText));
-        long initialTime = System.currentTimeMillis();
-        do {
-            try {
-                WebElement element = getElementByText(elementText);
-                if (element.isDisplayed())
-                    return element;
-                else
-                    throw new WebDriverException("Element is not displayed!");
-            }
-            catch (WebDriverException ignored) {
-                log.info("Swiping...");
-                swipeFromTo(elements.get(elements.size() - 1), elements.get(0));
-            }
-        }
-        while (System.currentTimeMillis() - initialTime < elementTimeout * 5);
-        throw new RuntimeException("Element '" + elementText + "' could not be located!");
+        return new ScrollSearch(driver, elementTimeout * 5).findByText(
+                elementText,
+                elements.get(0).findElement(By.xpath("..")),
+                () -> swipeFromTo(elements.get(elements.size() - 1), elements.get(0))
+        );
     }
 
     /**
@@ -225,28 +179,14 @@ public abstract class MobileUtilities extends Utilities {
      */
     public void scrollInDirection(Direction direction) {
         log.info("Swiping " + highlighted(BLUE, direction.name().toLowerCase()));
-        Point center = new Point(
-                driver.manage().window().getSize().getWidth() / 2,
-                driver.manage().window().getSize().getHeight() / 2
-        );
+        Dimension viewport = GestureEngine.getViewport(driver);
+        Point center = new Point(viewport.getWidth() / 2, viewport.getHeight() / 2);
 
         Point destination = switch (direction) {
-            case up -> new Point(
-                    center.getX(),
-                    center.getY() - (3 * (driver.manage().window().getSize().getHeight() / 5))
-            );
-            case down -> new Point(
-                    center.getX(),
-                    center.getY() + (3 * (driver.manage().window().getSize().getHeight() / 5))
-            );
-            case right -> new Point(
-                    center.getX() - (3 * (driver.manage().window().getSize().getWidth() / 4)),
-                    center.getY()
-            );
-            case left -> new Point(
-                    center.getX() + (3 * (driver.manage().window().getSize().getWidth() / 4)),
-                    center.getY()
-            );
+            case up -> new Point(center.getX(), center.getY() - (3 * (viewport.getHeight() / 5)));
+            case down -> new Point(center.getX(), center.getY() + (3 * (viewport.getHeight() / 5)));
+            case right -> new Point(center.getX() - (3 * (viewport.getWidth() / 4)), center.getY());
+            case left -> new Point(center.getX() + (3 * (viewport.getWidth() / 4)), center.getY());
         };
         swipe(center, destination);
     }
@@ -263,22 +203,7 @@ public abstract class MobileUtilities extends Utilities {
      *                            If the retry timeout is exceeded, the WebDriverException is thrown.
      */
     public static void swipe(Point pointOfDeparture, Point pointOfArrival, RemoteWebDriver driver) {
-        PointerInput finger = new PointerInput(PointerInput.Kind.TOUCH, "finger");
-        Sequence sequence = new Sequence(finger, 1);
-        sequence.addAction(finger.createPointerMove(
-                Duration.ofMillis(0),
-                PointerInput.Origin.viewport(), pointOfDeparture.x, pointOfDeparture.y)
-        );
-        sequence.addAction(finger.createPointerDown(PointerInput.MouseButton.MIDDLE.asArg()));
-        sequence.addAction(new Pause(finger, ofMillis(250)));
-        sequence.addAction(finger.createPointerMove(
-                Duration.ofMillis(750),
-                PointerInput.Origin.viewport(), pointOfArrival.x, pointOfArrival.y)
-        );
-        sequence.addAction(new Pause(finger, ofMillis(250)));
-        sequence.addAction(finger.createPointerUp(PointerInput.MouseButton.MIDDLE.asArg()));
-        performSequence(sequence, System.currentTimeMillis(), driver);
-        sequence.addAction(new Pause(finger, ofMillis(250)));
+        new GestureEngine(driver).swipe(pointOfDeparture, pointOfArrival).perform("swipe");
     }
 
     /**
@@ -296,24 +221,21 @@ public abstract class MobileUtilities extends Utilities {
     }
 
     /**
-     * Performs the specified Sequence on the RemoteWebDriver, with retry logic.
+     * Performs the specified Sequence on the RemoteWebDriver, through the default {@link GestureExecutor}.
      *
      * @param sequence    The Sequence of actions to be performed.
      * @param initialTime The initial time when the method was called (used for retry timeout).
      * @param driver      The RemoteWebDriver on which the Sequence is to be performed.
      * @throws WebDriverException if WebDriver encounters an exception while performing the Sequence.
-     *                            If the exception occurs within the retry timeout (15 seconds),
-     *                            the method retries the Sequence execution.
-     *                            If the retry timeout is exceeded, the WebDriverException is thrown.
+     *                            Retryable exceptions are retried with backoff within the gesture timeout
+     *                            (15 seconds by default), session errors are thrown immediately.
      */
     public static void performSequence(Sequence sequence, long initialTime, RemoteWebDriver driver) {
-        try {
-            driver.perform(singletonList(sequence));
-        } catch (WebDriverException exception) {
-            if (!(System.currentTimeMillis() - initialTime > 15000)) {
-                performSequence(sequence, initialTime, driver);
-            } else throw exception;
-        }
+        GestureExecutor.getDefaultExecutor().execute(
+                "performSequence",
+                initialTime,
+                () -> driver.perform(singletonList(sequence))
+        );
     }
 
     /**
@@ -330,17 +252,24 @@ public abstract class MobileUtilities extends Utilities {
         performSequence(sequence, initialTime, driver);
     }
 
+    /**
+     * Performs a built pointer action through the default {@link GestureExecutor}
+     *
+     * @param gesture gesture name, used for logs and metrics
+     * @param action  built action
+     */
+    @Override
+    protected void performGesture(String gesture, Action action) {
+        GestureExecutor.getDefaultExecutor().execute(gesture, action::perform);
+    }
+
     /**
      * Swipes from the center to the point
      *
      * @param point target point
      */
     public static void swipeFromCenter(Point point, RemoteWebDriver driver) {
-        Point center = new Point(
-                driver.manage().window().getSize().getWidth() / 2,
-                driver.manage().window().getSize().getHeight() / 2
-        );
-        swipe(center, point, driver);
+        new GestureEngine(driver).swipeFromCenter(point).perform("swipeFromCenter");
     }
 
     public void swipeFromCenter(Point point) {
@@ -355,8 +284,7 @@ public abstract class MobileUtilities extends Utilities {
      * @return returns the swiped element
      */
     public WebElement swipeElement(WebElement element, Point point) {
-        Point center = new Point(element.getLocation().x, element.getLocation().y);
-        swipe(center, point);
+        swipe(element.getLocation(), point);
         return element;
     }
 
@@ -369,8 +297,8 @@ public abstract class MobileUtilities extends Utilities {
      * @return returns the swiped element
      */
     public WebElement swipeWithOffset(WebElement element, Integer xOffset, Integer yOffset) {
-        Point from = new Point(element.getLocation().x, element.getLocation().y);
-        Point to = new Point(element.getLocation().x + xOffset, element.getLocation().y + yOffset);
+        Point from = element.getLocation();
+        Point to = from.moveBy(xOffset, yOffset);
         swipe(from, to);
         return element;
     }
@@ -383,8 +311,8 @@ public abstract class MobileUtilities extends Utilities {
      * @return returns the swiped element
      */
     public WebElement swipeFromTo(WebElement element, WebElement destinationElement) {
-        Point from = new Point(element.getLocation().x, element.getLocation().y);
-        Point to = new Point(destinationElement.getLocation().x, destinationElement.getLocation().y);
+        Point from = element.getLocation();
+        Point to = destinationElement.getLocation();
         swipe(from, to);
         return element;
     }
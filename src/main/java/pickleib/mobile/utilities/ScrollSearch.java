@@ -0,0 +1,282 @@
+package pickleib.mobile.utilities;
+
+import context.ContextStore;
+import io.appium.java_client.AppiumBy;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.Platform;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import pickleib.mobile.snapshot.PageSourceSnapshot;
+import pickleib.mobile.snapshot.SnapshotNode;
+import utils.Printer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static pickleib.utilities.platform.PlatformUtilities.getDriverPlatform;
+import static utils.StringUtilities.Color.BLUE;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Scrolls a list until an element with a given text is visible.
+ * The search is delegated to the platform where possible (UiScrollable on Android, {@code mobile: scroll} with a
+ * predicate on iOS), so the device scrolls without a round trip per swipe. Otherwise the list is scrolled from the
+ * client: every pass reads the page source once, remembers the texts it has seen and stops as soon as a scroll
+ * reveals nothing new (the end of the list) instead of running until the timeout. Searches within a given list are
+ * limited to that list, both on the platform and in the page source.
+ */
+@SuppressWarnings("unused")
+public class ScrollSearch {
+
+    static Printer log = new Printer(ScrollSearch.class);
+
+    /**
+     * determines if scroll searches are delegated to the platform (UiScrollable, mobile: scroll) when possible
+     */
+    static boolean platformSearch = Boolean.parseBoolean(ContextStore.get("scroll-search-platform", "true"));
+
+    /**
+     * A list container in the page source, identified by its class and resource id (Android) or name (iOS).
+     * Lists without an id cannot be told apart from other lists of the same class.
+     *
+     * @param className  class (Android) or element type (iOS) of the container
+     * @param resourceId resource id or name of the container, null or empty if the container has none
+     */
+    public record ListScope(String className, String resourceId) {
+
+        /**
+         * Reads the scope of a list container from the device
+         *
+         * @param list     list container
+         * @param platform platform of the driver
+         * @return returns the scope
+         */
+        public static ListScope of(WebElement list, Platform platform) {
+            String id = list.getAttribute(platform != null && platform.is(Platform.IOS) ? "name" : "resource-id");
+            return new ListScope(list.getTagName(), id);
+        }
+
+        /**
+         * Returns true if a given node is the container itself or lies within it
+         */
+        public boolean contains(SnapshotNode node) {
+            for (SnapshotNode ancestor = node; ancestor != null; ancestor = ancestor.getParent())
+                if (isContainer(ancestor)) return true;
+            return false;
+        }
+
+        private boolean isContainer(SnapshotNode node) {
+            if (!node.getTagName().equals(className)) return false;
+            return resourceId == null || resourceId.isEmpty() || resourceId.equals(node.getResourceId());
+        }
+    }
+
+    /**
+     * A scrollable list, as seen by a client side search
+     *
+     * @param <Item> list item type
+     */
+    public interface ScrollPage<Item> {
+        /**
+         * Returns the items that are currently visible
+         */
+        List<Item> visibleItems();
+
+        /**
+         * Returns the text of a given item
+         */
+        String textOf(Item item);
+
+        /**
+         * Scrolls the list by one step
+         */
+        void scroll();
+    }
+
+    final RemoteWebDriver driver;
+    final long timeout;
+
+    public ScrollSearch(RemoteWebDriver driver, long timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Scrolls until an element containing a given text is visible
+     *
+     * @param text     target text
+     * @param scroller scrolls the list by one step, used if the platform cannot search by itself
+     * @return returns the element
+     */
+    public WebElement findByText(String text, Runnable scroller) {
+        WebElement element = platformSearch ? searchOnPlatform(text) : null;
+        if (element != null) return element;
+        return search(text, new PageSourcePage(driver, scroller, null), timeout).resolve();
+    }
+
+    /**
+     * Scrolls a given list until an element containing a given text is visible, elements outside the list are ignored
+     *
+     * @param text     target text
+     * @param list     list container
+     * @param scroller scrolls the list by one step, used if the platform cannot search by itself
+     * @return returns the element
+     */
+    public WebElement findByText(String text, WebElement list, Runnable scroller) {
+        ListScope scope = ListScope.of(list, getDriverPlatform(driver));
+        WebElement element = platformSearch ? searchOnPlatform(text, list, scope) : null;
+        if (element != null) return element;
+        return search(text, new PageSourcePage(driver, scroller, scope), timeout).resolve();
+    }
+
+    /**
+     * Lets the platform scroll to an element containing a given text
+     *
+     * @param text target text
+     * @return returns the element, or null if the platform could not find it (or cannot search)
+     */
+    public WebElement searchOnPlatform(String text) {
+        return searchOnPlatform(text, null, null);
+    }
+
+    /**
+     * Lets the platform scroll a given list to an element containing a given text.
+     * UiScrollable is limited to scrollable views of the list class (and resource id), mobile: scroll to the list element.
+     *
+     * @param text  target text
+     * @param list  list container, null to search the whole screen
+     * @param scope scope of the list container, null to search the whole screen
+     * @return returns the element, or null if the platform could not find it (or cannot search)
+     */
+    public WebElement searchOnPlatform(String text, WebElement list, ListScope scope) {
+        Platform platform = getDriverPlatform(driver);
+        if (platform == null) return null;
+        try {
+            if (platform.is(Platform.ANDROID)) {
+                log.info("Scrolling to " + highlighted(BLUE, text) + " with UiScrollable");
+                String selector = "new UiSelector().scrollable(true)";
+                if (scope != null) {
+                    selector += ".className(\"" + escapeSelector(scope.className()) + "\")";
+                    if (scope.resourceId() != null && !scope.resourceId().isEmpty())
+                        selector += ".resourceId(\"" + escapeSelector(scope.resourceId()) + "\")";
+                }
+                return driver.findElement(AppiumBy.androidUIAutomator(
+                        "new UiScrollable(" + selector + ")" +
+                                ".scrollIntoView(new UiSelector().textContains(\"" + escapeSelector(text) + "\"))"
+                ));
+            }
+            if (platform.is(Platform.IOS)) {
+                log.info("Scrolling to " + highlighted(BLUE, text) + " with mobile: scroll");
+                String predicate = "label CONTAINS '" + escapePredicate(text) + "' OR value CONTAINS '" + escapePredicate(text) + "'";
+                Map<String, Object> arguments = new HashMap<>(Map.of("predicateString", predicate, "toVisible", true));
+                String listId = list == null ? null : idOf(list);
+                if (listId != null) arguments.put("elementId", listId);
+                driver.executeScript("mobile: scroll", arguments);
+                return listId != null ?
+                        list.findElement(AppiumBy.iOSNsPredicateString(predicate)) :
+                        driver.findElement(AppiumBy.iOSNsPredicateString(predicate));
+            }
+        }
+        catch (WebDriverException exception) {
+            log.warning("Platform scroll search failed (" + exception.getClass().getSimpleName() + "), scrolling from the client");
+        }
+        return null;
+    }
+
+    /**
+     * Scrolls a list until an item containing a given text is visible.
+     * Item texts are remembered across passes, the search ends when a scroll reveals no text that was not seen before.
+     * Lists that repeat the same texts may therefore end early.
+     *
+     * @param text    target text
+     * @param page    scrollable list
+     * @param timeout timeout in milliseconds
+     * @return returns the item
+     * @param <Item>  list item type
+     * @throws NoSuchElementException if the end of the list or the timeout is reached
+     */
+    public static <Item> Item search(String text, ScrollPage<Item> page, long timeout) {
+        Set<String> seen = new HashSet<>();
+        long initialTime = System.currentTimeMillis();
+        int scrolls = 0;
+        while (true) {
+            boolean discovered = false;
+            for (Item item : page.visibleItems()) {
+                String itemText = page.textOf(item);
+                if (itemText == null) continue;
+                if (itemText.contains(text)) return item;
+                if (seen.add(itemText)) discovered = true;
+            }
+            if (scrolls > 0 && !discovered)
+                throw new NoSuchElementException(
+                        "Element '" + text + "' could not be located, reached the end of the list after " + scrolls + " scroll(s)!"
+                );
+            if (System.currentTimeMillis() - initialTime > timeout)
+                throw new NoSuchElementException("Element '" + text + "' could not be located in " + timeout + "ms!");
+            page.scroll();
+            scrolls++;
+        }
+    }
+
+    /**
+     * Returns the remote id of an element, PageFactory proxies are unwrapped
+     */
+    private static String idOf(WebElement element) {
+        if (element instanceof WrapsElement wrapper) element = wrapper.getWrappedElement();
+        return element instanceof RemoteWebElement remoteElement ? remoteElement.getId() : null;
+    }
+
+    private static String escapeSelector(String text) {
+        return text.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String escapePredicate(String text) {
+        return text.replace("\\", "\\\\").replace("'", "\\'");
+    }
+
+    public static void setPlatformSearch(boolean platformSearch) {
+        ScrollSearch.platformSearch = platformSearch;
+    }
+
+    /**
+     * Client side view of the screen (or of a list), reads the displayed texts from one page source per pass
+     */
+    static class PageSourcePage implements ScrollPage<SnapshotNode> {
+        final RemoteWebDriver driver;
+        final Runnable scroller;
+        final ListScope scope;
+
+        PageSourcePage(RemoteWebDriver driver, Runnable scroller, ListScope scope) {
+            this.driver = driver;
+            this.scroller = scroller;
+            this.scope = scope;
+        }
+
+        @Override
+        public List<SnapshotNode> visibleItems() {
+            List<SnapshotNode> items = new ArrayList<>();
+            for (SnapshotNode node : PageSourceSnapshot.of(driver).getNodes())
+                if (node.isDisplayed() && !node.getText().isEmpty() && (scope == null || scope.contains(node)))
+                    items.add(node);
+            return items;
+        }
+
+        @Override
+        public String textOf(SnapshotNode node) {
+            return node.getText();
+        }
+
+        @Override
+        public void scroll() {
+            scroller.run();
+            PageSourceSnapshot.invalidate(driver);
+        }
+    }
+}
@@ -5,23 +5,36 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import context.ContextStore;
 import org.jetbrains.annotations.NotNull;
 import org.openqa.selenium.*;
+import org.openqa.selenium.interactions.Action;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.FluentWait;
 import pickleib.enums.ElementState;
+import pickleib.enums.FillStrategy;
 import pickleib.exceptions.PickleibException;
+import pickleib.mobile.snapshot.PageSourceSnapshot;
+import pickleib.mobile.snapshot.SnapshotNode;
+import pickleib.utilities.element.DomPaths;
+import pickleib.utilities.instrumentation.Instrumentation;
 import pickleib.utilities.interfaces.functions.ScrollFunction;
+import pickleib.utilities.polling.ElementStateProbe;
+import pickleib.utilities.polling.MutationWaiter;
+import pickleib.utilities.polling.QuiescenceDetector;
 import pickleib.utilities.screenshot.ScreenCaptureUtility;
+import pickleib.web.utilities.FormFiller;
+import pickleib.web.utilities.ViewportProbe;
+import pickleib.web.utilities.WebUtilities;
 import utils.Printer;
 import utils.StringUtilities;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
 
-import static pickleib.enums.ElementState.absent;
 import static pickleib.enums.ElementState.displayed;
 import static pickleib.utilities.platform.PlatformUtilities.*;
 import static pickleib.web.driver.WebDriverFactory.getDriverTimeout;
@@ -95,6 +108,7 @@ public abstract class Utilities {
                 wait.until(ExpectedConditions.elementToBeClickable(element));
                 if (scroll) this.scroller.scroll(element).click();
                 else element.click();
+                PageSourceSnapshot.invalidate();
                 return;
             }
             catch (WebDriverException webDriverException) {
@@ -106,6 +120,7 @@ public abstract class Utilities {
                     caughtException = webDriverException;
                 }
                 counter++;
+                Instrumentation.recordRetry(webDriverException);
             }
         }
         while (System.currentTimeMillis() - initialTime < elementTimeout);
@@ -114,13 +129,23 @@ public abstract class Utilities {
         throw new PickleibException(caughtException);
     }
 
+    /**
+     * Checks if a given element is fully within the viewport, browser elements are checked in a single script
+     *
+     * @param element target element
+     * @return true if the element is fully within the viewport
+     */
     public boolean isElementInViewPort(WebElement element) {
-        int windowHeight = driver.manage().window().getSize().getHeight();
-        int windowWidth = driver.manage().window().getSize().getWidth();
+        if (supportsScripts(driver)) return new ViewportProbe(driver).inspect(element).isInView();
 
-        org.openqa.selenium.Point elementLocation = element.getRect().getPoint();
-        int elementHeight = element.getRect().getHeight();
-        int elementWidth = element.getRect().getWidth();
+        Dimension windowSize = driver.manage().window().getSize();
+        int windowHeight = windowSize.getHeight();
+        int windowWidth = windowSize.getWidth();
+
+        Rectangle elementRect = element.getRect();
+        org.openqa.selenium.Point elementLocation = elementRect.getPoint();
+        int elementHeight = elementRect.getHeight();
+        int elementWidth = elementRect.getWidth();
 
         int elementBottomY = elementLocation.getY() + elementHeight;
         int elementRightX = elementLocation.getX() + elementWidth;
@@ -173,6 +198,7 @@ public abstract class Utilities {
         String combination = Keys.chord(keys);
         log.info("Pressing " + markup(BLUE, combination) + " keys on " + markup(BLUE, elementName) + " element.");
         element.sendKeys(combination);
+        PageSourceSnapshot.invalidate();
     }
 
     /**
@@ -188,6 +214,7 @@ public abstract class Utilities {
                 .click()
                 .build()
                 .perform();
+        PageSourceSnapshot.invalidate();
     }
 
     /**
@@ -321,6 +348,7 @@ public abstract class Utilities {
         if (scroll) scroller.scroll(element);
         if (clear) clearInputField(element);
         element.sendKeys(inputText);
+        PageSourceSnapshot.invalidate();
         String inputValue =  element.getAttribute(getInputContentAttributeNameFor(getElementDriverPlatform(element)));
         assert !verify || inputText.equals(inputValue);
     }
@@ -344,62 +372,9 @@ public abstract class Utilities {
      * @param element target element
      * @param state   expected state
      * @return returns true if an element is in the expected state
-     */ //TODO: elementIs should use iterativeConditionalInvocation() instead of iterating in itself. (same for other similar methods).
+     */
     public Boolean elementIs(WebElement element, @NotNull ElementState state) {
-        long initialTime = System.currentTimeMillis();
-        String caughtException = null;
-        boolean timeout;
-        boolean condition = false;
-        boolean negativeCheck = false;
-        int counter = 0;
-        do { //TODO: Replace this with iterativeConditionalInvocation
-            if (condition || (counter > 1 && negativeCheck)) return true;
-            try {
-                driver.manage().timeouts().implicitlyWait(Duration.ofMillis(500));
-                switch (state) {
-                    case enabled -> {
-                        negativeCheck = false;
-                        condition = element.isEnabled();
-                    }
-                    case displayed -> {
-                        negativeCheck = false;
-                        condition = element.isDisplayed();
-                    }
-                    case selected -> {
-                        negativeCheck = false;
-                        condition = element.isSelected();
-                    }
-                    case disabled -> {
-                        negativeCheck = true;
-                        condition = !element.isEnabled();
-                    }
-                    case unselected -> {
-                        negativeCheck = true;
-                        condition = !element.isSelected();
-                    }
-                    case absent -> {
-                        negativeCheck = true;
-                        condition = !element.isDisplayed();
-                    }
-                    default -> throw new EnumConstantNotPresentException(ElementState.class, state.name());
-                }
-            } catch (WebDriverException webDriverException) {
-                if (counter == 0) {
-                    log.warning("Iterating... (" + webDriverException.getClass().getName() + ")");
-                    caughtException = webDriverException.getClass().getName();
-                } else if (!webDriverException.getClass().getName().equals(caughtException)) {
-                    log.warning("Iterating... (" + webDriverException.getClass().getName() + ")");
-                    caughtException = webDriverException.getClass().getName();
-                } else if (state.equals(absent) && webDriverException.getClass().getName().equals("StaleElementReferenceException"))
-                    return true;
-                counter++;
-            } finally {
-                driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(getDriverTimeout()));
-            }
-        }
-        while (!(System.currentTimeMillis() - initialTime > elementTimeout));
-        if (counter > 0) log.warning("Iterated " + counter + " time(s)!");
-        return false;
+        return new ElementStateProbe(driver).await(element, state, elementTimeout);
     }
 
     /**
@@ -443,6 +418,7 @@ public abstract class Utilities {
             for (int i = 0; i <= inputValue.length(); i++)
                 deletion.add("");
         element.sendKeys(deletion.toString());
+        PageSourceSnapshot.invalidate();
         return element;
     }
 
@@ -485,14 +461,14 @@ public abstract class Utilities {
      * @param destinationElement target element
      */
     public void dragDropToAction(WebElement element, WebElement destinationElement) {
-        Actions action = new Actions(driver);
-        action.moveToElement(element)
+        Action action = new Actions(driver)
+                .moveToElement(element)
                 .clickAndHold(element)
                 .moveToElement(destinationElement)
                 .release()
-                .build()
-                .perform();
-        waitFor(0.5);
+                .build();
+        performGesture("dragDropToAction", action);
+        QuiescenceDetector.settle(driver, 0.5);
     }
 
     /**
@@ -504,13 +480,13 @@ public abstract class Utilities {
      */
     //This method performs click, hold, dragAndDropBy action on at a certain offset
     public void dragDropByAction(WebElement element, int xOffset, int yOffset) {
-        Actions action = new Actions(driver);
-        action.moveToElement(element)
+        Action action = new Actions(driver)
+                .moveToElement(element)
                 .clickAndHold(element)
                 .dragAndDropBy(element, xOffset, yOffset)
-                .build()
-                .perform();
-        waitFor(0.5);
+                .build();
+        performGesture("dragDropByAction", action);
+        QuiescenceDetector.settle(driver, 0.5);
     }
 
     /**
@@ -522,14 +498,25 @@ public abstract class Utilities {
      * @param yOffset y offset from the center of the element
      */
     public void dragDropAction(WebElement element, int xOffset, int yOffset) {
-        Actions action = new Actions(driver);
-        action.moveToElement(element)
+        Action action = new Actions(driver)
+                .moveToElement(element)
                 .clickAndHold(element)
                 .moveToElement(element, xOffset, yOffset)
                 .release()
-                .build()
-                .perform();
-        waitFor(0.5);
+                .build();
+        performGesture("dragDropAction", action);
+        QuiescenceDetector.settle(driver, 0.5);
+    }
+
+    /**
+     * Performs a built pointer action, subclasses may route gestures through a retrying executor
+     *
+     * @param gesture gesture name
+     * @param action  built action
+     */
+    protected void performGesture(String gesture, Action action) {
+        action.perform();
+        PageSourceSnapshot.invalidate();
     }
 
     /**
@@ -537,6 +524,7 @@ public abstract class Utilities {
      */
     public void refreshThePage() {
         driver.navigate().refresh();
+        PageSourceSnapshot.invalidate();
     }
 
     /**
@@ -554,6 +542,7 @@ public abstract class Utilities {
                 .click()
                 .build()
                 .perform();
+        PageSourceSnapshot.invalidate();
     }
 
     /**
@@ -601,6 +590,7 @@ public abstract class Utilities {
      * @return returns the targeted parent element
      */
     public WebElement getParentByClass(WebElement childElement, String current, String parentSelectorClass) {
+        if (supportsScripts(driver)) return DomPaths.ancestorByClass(driver, childElement, parentSelectorClass);
 
         if (current == null) {
             current = "";
@@ -632,6 +622,9 @@ public abstract class Utilities {
      * @return returns generated xPath
      */
     public String generateXPath(@NotNull WebElement childElement, String current) {
+        if (supportsScripts(driver))
+            return DomPaths.absoluteXPath(driver, childElement) + (current == null ? "" : current);
+
         String childTag = childElement.getTagName();
         if (childTag.equals("html")) {
             return "/html[1]" + current;
@@ -649,6 +642,18 @@ public abstract class Utilities {
         return null;
     }
 
+    /**
+     * Generates a CSS selector path that uniquely identifies a given element (browser sessions only)
+     *
+     * @param element target element
+     * @return returns the CSS selector path
+     */
+    public String generateCssPath(@NotNull WebElement element) {
+        if (!supportsScripts(driver))
+            throw new PickleibException("CSS paths can only be generated within browser sessions!");
+        return DomPaths.uniqueCssPath(driver, element);
+    }
+
     /**
      * Gets the name of the method that called the API.
      *
@@ -731,9 +736,15 @@ public abstract class Utilities {
     public void verifyListedElementText(
             List<Bundle<WebElement, String, String>> bundles,
             String pageName) {
-        for (Bundle<WebElement, String, String> bundle : bundles) {
+        List<WebElement> elements = new ArrayList<>(bundles.size());
+        for (Bundle<WebElement, String, String> bundle : bundles) elements.add(bundle.alpha());
+        List<SnapshotNode> nodes = PageSourceSnapshot.nodesOf(elements);
+        List<String> texts = nodes != null ? nodes.stream().map(SnapshotNode::getText).toList() : WebUtilities.getTexts(elements);
+        for (int index = 0; index < bundles.size(); index++) {
+            Bundle<WebElement, String, String> bundle = bundles.get(index);
             String elementName = bundle.beta();
             String expectedText = bundle.theta();
+            String text = texts.get(index);
             log.info("Performing text verification for " +
                     highlighted(BLUE, elementName) +
                     highlighted(GRAY, " on the ") +
@@ -741,9 +752,9 @@ public abstract class Utilities {
                     highlighted(GRAY, " with the text: ") +
                     highlighted(BLUE, expectedText)
             );
-            if (!expectedText.equals(bundle.alpha().getText()))
-                throw new PickleibException("The " + bundle.alpha().getText() + " does not contain text '");
-            log.success("Text of the element" + bundle.alpha().getText() + " was verified!");
+            if (!expectedText.equals(text))
+                throw new PickleibException("The " + text + " does not contain text '");
+            log.success("Text of the element" + text + " was verified!");
         }
     }
 
@@ -754,8 +765,29 @@ public abstract class Utilities {
      * @param pageName specified page instance name
      */
     public void fillInputForm(List<Bundle<WebElement, String, String>> bundles, String pageName) {
-        String inputName;
-        String input;
+        fillInputForm(bundles, pageName, Map.of());
+    }
+
+    /**
+     * Fill form input on the {page name}, in a single batch if batched forms are enabled
+     *
+     * @param bundles    list of bundles where input element, input name and input texts are stored
+     * @param pageName   specified page instance name
+     * @param strategies fill strategies of the inputs, by input name (batched forms only)
+     */
+    public void fillInputForm(List<Bundle<WebElement, String, String>> bundles, String pageName, Map<String, FillStrategy> strategies) {
+        if (FormFiller.isEnabled() && supportsScripts(driver)) {
+            log.info("Filling " +
+                    highlighted(BLUE, String.valueOf(bundles.size())) +
+                    highlighted(GRAY, " input(s) on the ") +
+                    highlighted(BLUE, pageName)
+            );
+            FormFiller form = new FormFiller(driver);
+            for (Bundle<WebElement, String, String> bundle : bundles)
+                form.add(bundle.alpha(), bundle.theta(), bundle.beta(), strategies.get(bundle.theta()));
+            form.fill();
+            return;
+        }
         for (Bundle<WebElement, String, String> bundle : bundles) {
             log.info("Filling " +
                     highlighted(BLUE, bundle.theta()) +
@@ -788,6 +820,14 @@ public abstract class Utilities {
         String caughtException = null;
         int counter = 0;
         attributeValue = contextCheck(attributeValue);
+        if (MutationWaiter.isEnabled() && supportsScripts(driver)) {
+            try {
+                if (new MutationWaiter(driver).awaitAttribute(element, attributeName, attributeValue, elementTimeout)) return true;
+            }
+            catch (WebDriverException webDriverException) {
+                log.warning("Mutation wait failed (" + webDriverException.getClass().getSimpleName() + "), polling...");
+            }
+        }
         do {
             try {
                 if (Objects.equals(element.getAttribute(attributeName), attributeValue))
@@ -802,6 +842,7 @@ public abstract class Utilities {
                 }
                 waitFor(0.5);
                 counter++;
+                Instrumentation.recordRetry(webDriverException);
             }
         }
         while (!(System.currentTimeMillis() - initialTime > elementTimeout));
@@ -847,6 +888,7 @@ public abstract class Utilities {
                 }
                 waitFor(0.5);
                 counter++;
+                Instrumentation.recordRetry(webDriverException);
             } finally {
                 driver.manage().timeouts().implicitlyWait(Duration.ofMillis(elementTimeout));
             }
@@ -0,0 +1,79 @@
+package pickleib.utilities.element;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+/**
+ * Resolves DOM paths and ancestors within the browser, using a single script execution per lookup
+ * instead of walking the DOM through the WebDriver protocol.
+ */
+public class DomPaths {
+
+    private static final String XPATH_SCRIPT =
+            "var path = '';" +
+            "for (var node = arguments[0]; node && node.nodeType === 1; node = node.parentElement) {" +
+            "  var tag = node.tagName.toLowerCase();" +
+            "  var index = 1;" +
+            "  for (var sibling = node.previousElementSibling; sibling; sibling = sibling.previousElementSibling)" +
+            "    if (sibling.tagName === node.tagName) index++;" +
+            "  path = '/' + tag + '[' + index + ']' + path;" +
+            "  if (tag === 'html') break;" +
+            "}" +
+            "return path;";
+
+    private static final String CSS_PATH_SCRIPT =
+            "var path = [];" +
+            "for (var node = arguments[0]; node && node.nodeType === 1; node = node.parentElement) {" +
+            "  if (node.id && document.querySelectorAll('#' + CSS.escape(node.id)).length === 1) {" +
+            "    path.unshift('#' + CSS.escape(node.id));" +
+            "    break;" +
+            "  }" +
+            "  var tag = node.tagName.toLowerCase();" +
+            "  if (tag === 'html') {path.unshift(tag); break;}" +
+            "  var index = 1;" +
+            "  for (var sibling = node.previousElementSibling; sibling; sibling = sibling.previousElementSibling)" +
+            "    if (sibling.tagName === node.tagName) index++;" +
+            "  path.unshift(tag + ':nth-of-type(' + index + ')');" +
+            "}" +
+            "return path.join(' > ');";
+
+    private static final String ANCESTOR_BY_CLASS_SCRIPT =
+            "for (var node = arguments[0]; node && node.nodeType === 1; node = node.parentElement)" +
+            "  if ((node.getAttribute('class') || '').indexOf(arguments[1]) >= 0) return node;" +
+            "return null;";
+
+    /**
+     * Generates the absolute xPath of a given element, indexing each step among siblings of the same tag
+     *
+     * @param driver browser session
+     * @param element target element
+     * @return returns the absolute xPath, e.g. "/html[1]/body[1]/div[2]/span[1]"
+     */
+    public static String absoluteXPath(RemoteWebDriver driver, WebElement element) {
+        return (String) driver.executeScript(XPATH_SCRIPT, element);
+    }
+
+    /**
+     * Generates a CSS selector path that uniquely identifies a given element.
+     * The path starts at the nearest ancestor (or self) with a unique id, or at the html element.
+     *
+     * @param driver browser session
+     * @param element target element
+     * @return returns the CSS selector path
+     */
+    public static String uniqueCssPath(RemoteWebDriver driver, WebElement element) {
+        return (String) driver.executeScript(CSS_PATH_SCRIPT, element);
+    }
+
+    /**
+     * Acquires the nearest ancestor (or self) of a given element whose class attribute contains a given value
+     *
+     * @param driver browser session
+     * @param element target element
+     * @param className class value
+     * @return returns the ancestor, or null if no ancestor has the class
+     */
+    public static WebElement ancestorByClass(RemoteWebDriver driver, WebElement element, String className) {
+        return (WebElement) driver.executeScript(ANCESTOR_BY_CLASS_SCRIPT, element, className);
+    }
+}
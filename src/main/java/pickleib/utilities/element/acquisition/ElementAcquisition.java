@@ -12,8 +12,13 @@ import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.pagefactory.ByAll;
 import pickleib.enums.PrimarySelectorType;
 import pickleib.enums.SelectorType;
+import pickleib.mobile.snapshot.PageSourceSnapshot;
+import pickleib.mobile.snapshot.SnapshotNode;
 import pickleib.exceptions.PickleibException;
 import pickleib.utilities.interfaces.repository.PageRepository;
+import pickleib.utilities.polling.MutationWaiter;
+import pickleib.utilities.polling.PollingEngine;
+import pickleib.web.utilities.WebUtilities;
 import collections.Bundle;
 import collections.Pair;
 import utils.Printer;
@@ -21,8 +26,10 @@ import utils.StringUtilities;
 import utils.arrays.lambda.Collectors;
 import utils.reflection.ReflectionUtilities;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 
 import static utils.StringUtilities.*;
@@ -36,6 +43,11 @@ public class ElementAcquisition {
     static long elementTimeout = Long.parseLong(ContextStore.get("element-timeout", "15000"));
     static Printer log = new Printer(ElementAcquisition.class);
 
+    /**
+     * Polling engine of the acquisition loops, the default engine (resolved on every use) if null
+     */
+    static PollingEngine poller;
+
     /**
      * Acquire listed component by the text of its given child element
      *
@@ -53,17 +65,17 @@ public class ElementAcquisition {
             String elementFieldName
     ){
         log.info("Acquiring component by attribute " + highlighted(BLUE, attributeName + " -> " + attributeValue));
-        boolean timeout = false;
-        long initialTime = System.currentTimeMillis();
-        while (!timeout){
-            for (Component component : items) {
-                Map<String, Object> componentFields = getFields(component);
-                WebElement element = (WebElement) componentFields.get(elementFieldName);
-                String attribute = element.getAttribute(attributeName);
-                if (attribute.equals(attributeValue)) return component;
-            }
-            if (System.currentTimeMillis() - initialTime > elementTimeout) timeout = true;
-        }
+        Component match = getPoller().poll("acquireComponentByElementAttributeAmongst", elementTimeout, () -> {
+            List<Component> components = new ArrayList<>(items);
+            List<WebElement> elements = new ArrayList<>(components.size());
+            for (Component component : components)
+                elements.add((WebElement) FieldIndex.of(component.getClass()).get(component, elementFieldName));
+            List<String> attributes = WebUtilities.getAttributes(elements, attributeName);
+            for (int index = 0; index < components.size(); index++)
+                if (attributeValue.equals(attributes.get(index))) return components.get(index);
+            return null;
+        });
+        if (match != null) return match;
         throw new NoSuchElementException("No component with " + attributeName + " : " + attributeValue + " could be found!");
     }
 
@@ -77,26 +89,17 @@ public class ElementAcquisition {
      */
     public static WebElement acquireElementUsingAttributeAmongst(List<WebElement> items, String attributeName, String attributeValue){
         log.info("Acquiring element called " + markup(BLUE, attributeValue) + " using its " + markup(BLUE, attributeName) + " attribute");
-        boolean condition = true;
-        boolean timeout = false;
-        long initialTime = System.currentTimeMillis();
-        WebDriverException caughtException = null;
-        int counter = 0;
-        while (!(System.currentTimeMillis() - initialTime > elementTimeout)){
-            try {
-                for (WebElement selection : items) {
-                    String attribute = selection.getAttribute(attributeName);
-                    if (attribute != null && (attribute.equalsIgnoreCase(attributeValue) || attribute.contains(attributeValue))) return selection;
-                }
-            }
-            catch (WebDriverException webDriverException){
-                if (counter != 0 && webDriverException.getClass().getName().equals(caughtException.getClass().getName()))
-                    log.warning("Iterating... (" + webDriverException.getClass().getName() + ")");
-
-                caughtException = webDriverException;
-                counter++;
+        WebElement match = getPoller().poll("acquireElementUsingAttributeAmongst", elementTimeout, () -> {
+            List<WebElement> selections = new ArrayList<>(items);
+            List<String> attributes = WebUtilities.getAttributes(selections, attributeName);
+            for (int index = 0; index < selections.size(); index++) {
+                String attribute = attributes.get(index);
+                if (attribute != null && (attribute.equalsIgnoreCase(attributeValue) || attribute.contains(attributeValue)))
+                    return selections.get(index);
             }
-        }
+            return null;
+        }, MutationWaiter.pauseFor(items));
+        if (match != null) return match;
         throw new NoSuchElementException("No element with the attributes '" + attributeName + " : " + attributeValue + "' could be found!");
     }
 
@@ -108,30 +111,24 @@ public class ElementAcquisition {
      * @return returns the selected element
      */
     public static WebElement acquireNamedElementAmongst(List<WebElement> items, String selectionName){
-        boolean timeout = false;
-        long initialTime = System.currentTimeMillis();
-        WebDriverException caughtException = null;
-        int counter = 0;
-        do {
-            try {
-                for (WebElement selection : items) {
-                    String text = selection.getText();
-                    if (text.equalsIgnoreCase(selectionName) || text.contains(selectionName)) return selection;
+        WebElement match = getPoller().poll("acquireNamedElementAmongst", elementTimeout, () -> {
+            List<SnapshotNode> nodes = PageSourceSnapshot.nodesOf(items);
+            if (nodes != null) {
+                for (SnapshotNode node : nodes) {
+                    String text = node.getText();
+                    if (text.equalsIgnoreCase(selectionName) || text.contains(selectionName)) return node.resolve();
                 }
+                return null;
             }
-            catch (WebDriverException webDriverException){
-                if (counter == 0) {
-                    log.warning("Iterating... (" + webDriverException.getClass().getName() + ")");
-                    caughtException = webDriverException;
-                }
-                else if (!webDriverException.getClass().getName().equals(caughtException.getClass().getName())){
-                    log.warning("Iterating... (" + webDriverException.getClass().getName() + ")");
-                    caughtException = webDriverException;
-                }
-                counter++;
+            List<WebElement> selections = new ArrayList<>(items);
+            List<String> texts = WebUtilities.getTexts(selections);
+            for (int index = 0; index < selections.size(); index++) {
+                String text = texts.get(index);
+                if (text.equalsIgnoreCase(selectionName) || text.contains(selectionName)) return selections.get(index);
             }
-        }
-        while (!(System.currentTimeMillis() - initialTime > elementTimeout));
+            return null;
+        }, MutationWaiter.pauseFor(items));
+        if (match != null) return match;
         throw new NoSuchElementException("No element with text/name '" + selectionName + "' could be found!");
     }
 
@@ -147,28 +144,33 @@ public class ElementAcquisition {
             String selectionName
     ){
         log.info("Acquiring component called " + highlighted(BLUE, selectionName));
-        boolean timeout = false;
-        long initialTime = System.currentTimeMillis();
-        WebDriverException caughtException = null;
-        int counter = 0;
-        while (!(System.currentTimeMillis() - initialTime > elementTimeout)){
-            try {
-                for (Component selection : items) {
-                    String text = selection.getText();
-                    if (text.equalsIgnoreCase(selectionName) || text.contains(selectionName)) return selection;
-                }
+        Component match = getPoller().poll("acquireNamedComponentAmongst", elementTimeout, () -> {
+            List<Component> selections = new ArrayList<>(items);
+            List<String> texts = WebUtilities.getTexts(selections);
+            for (int index = 0; index < selections.size(); index++) {
+                String text = texts.get(index);
+                if (text.equalsIgnoreCase(selectionName) || text.contains(selectionName)) return selections.get(index);
             }
-            catch (WebDriverException webDriverException){
-                if (counter != 0 && webDriverException.getClass().getName().equals(caughtException.getClass().getName()))
-                    log.warning("Iterating... (" + webDriverException.getClass().getName() + ")");
-
-                caughtException = webDriverException;
-                counter++;
-            }
-        }
+            return null;
+        }, MutationWaiter.pauseFor(items));
+        if (match != null) return match;
         throw new NoSuchElementException("No component with text/name '" + selectionName + "' could be found!");
     }
 
+    /**
+     * Replaces the polling engine used by the acquisition loops
+     *
+     * @param poller polling engine, null to follow {@link PollingEngine#getDefaultEngine()}
+     */
+    public static void setPoller(PollingEngine poller) {
+        ElementAcquisition.poller = poller;
+    }
+
+    public static PollingEngine getPoller() {
+        PollingEngine engine = poller;
+        return engine != null ? engine : PollingEngine.getDefaultEngine();
+    }
+
 
     public static class PageObjectModel <ObjectRepository extends PageRepository> {
         Reflections<ObjectRepository> reflections;
@@ -674,12 +676,19 @@ public class ElementAcquisition {
 
     public static class PageObjectJson {
 
-        static RemoteWebDriver driver;
-        static JsonObject objectRepository;
+        /**
+         * Indexes of the object repositories in use, keyed by repository identity
+         */
+        private static final Map<JsonObject, ObjectRepositoryIndex> indexes = Collections.synchronizedMap(new IdentityHashMap<>());
+
+        final RemoteWebDriver driver;
+        final JsonObject objectRepository;
+        final ObjectRepositoryIndex index;
 
         public PageObjectJson(RemoteWebDriver driver, JsonObject objectRepository) {
-            PageObjectJson.driver = driver;
-            PageObjectJson.objectRepository = objectRepository;
+            this.driver = driver;
+            this.objectRepository = objectRepository;
+            this.index = indexes.computeIfAbsent(objectRepository, ObjectRepositoryIndex::new);
         }
 
         /**
@@ -697,11 +706,11 @@ public class ElementAcquisition {
                     highlighted(GRAY," from the ") +
                     highlighted(BLUE, pageName)
             );
-            JsonObject elementJson = getElementJson(elementName, pageName, objectRepository);
-            assert elementJson != null;
+            ObjectRepositoryIndex.Element element = index.getElement(elementName, pageName);
+            assert element != null;
             ByAll byAll;
-            if (selectorTypes.length > 0) byAll = getByAll(elementJson, selectorTypes);
-            else byAll = getByAll(elementJson, SelectorType.xpath, SelectorType.css, SelectorType.text);
+            if (selectorTypes.length > 0) byAll = element.getByAll(selectorTypes);
+            else byAll = element.getByAll(SelectorType.xpath, SelectorType.css, SelectorType.text);
             return driver.findElement(byAll);
         }
 
@@ -720,10 +729,9 @@ public class ElementAcquisition {
                     highlighted(GRAY," from the ") +
                     highlighted(BLUE, pageName)
             );
-            JsonObject elementJson = getElementJson(elementName, pageName, objectRepository);
-            assert elementJson != null;
-            ByAll byAll = getByAll(elementJson, selectorTypes);
-            return driver.findElements(byAll);
+            ObjectRepositoryIndex.Element element = index.getElement(elementName, pageName);
+            assert element != null;
+            return driver.findElements(element.getByAll(selectorTypes));
         }
 
         /**
@@ -734,36 +742,31 @@ public class ElementAcquisition {
          * @param elementJson The JSON representation of the web element containing various locator information.
          * @param selectorTypes One or more SelectorType enums specifying the types of locators to be generated.
          * @return A compound By object, formed by combining individual locators based on the specified SelectorTypes.
-         * @throws EnumConstantNotPresentException If an unsupported SelectorType is provided.
          * @see org.openqa.selenium.By
          * @see SelectorType
          */
         public ByAll getByAll(JsonObject elementJson, SelectorType... selectorTypes){
             List<By> locators = new ArrayList<>();
             for (SelectorType selectorType:selectorTypes) {
-                try {
-                    By locator;
-                    switch (selectorType){
-                        case id ->          locator = By.id(elementJson.get("id").getAsJsonPrimitive().getAsString());
-                        case name ->        locator = By.name(elementJson.get("name").getAsJsonPrimitive().getAsString());
-                        case tagName ->     locator = By.tagName(elementJson.get("tagName").getAsJsonPrimitive().getAsString());
-                        case className ->   locator = By.className(elementJson.get("className").getAsJsonPrimitive().getAsString());
-                        case css ->         locator = By.cssSelector(elementJson.get("cssSelector").getAsJsonPrimitive().getAsString());
-                        case xpath ->       locator = By.xpath(elementJson.get("xpath").getAsJsonPrimitive().getAsString());
-                        case text -> {
-                            String text = elementJson.get("text").getAsJsonPrimitive().getAsString();
-                            locator = By.xpath("//*[text()='" + text + "']");
-                        }
-                        default -> throw new EnumConstantNotPresentException(SelectorType.class, selectorType.name());
-                    }
-                    locators.add(locator);
-                }
-                catch (NullPointerException | IllegalStateException ignored){}
-
+                By locator = ObjectRepositoryIndex.locatorOf(elementJson, selectorType);
+                if (locator != null) locators.add(locator);
             }
             return new ByAll(locators.toArray(new By[0]));
         }
 
+        /**
+         * Returns the cached compound locator of an element from the indexed object repository
+         *
+         * @param elementName target element name
+         * @param pageName page name that includes target element selectors
+         * @param selectorTypes desired selector types
+         * @return compound locator of the target element, or null if the page does not contain the element
+         */
+        public ByAll getByAll(String elementName, String pageName, SelectorType... selectorTypes){
+            ObjectRepositoryIndex.Element element = index.getElement(elementName, pageName);
+            return element == null ? null : element.getByAll(selectorTypes);
+        }
+
         /**
          * Generates an element using a primary selector by given element attributes (css or xpath)
          *
@@ -853,6 +856,9 @@ public class ElementAcquisition {
          * @return target element selectors as JsonObject
          */
         public static JsonObject getElementJson(String elementName, String pageName, JsonObject objectRepository){
+            ObjectRepositoryIndex index = indexes.get(objectRepository);
+            if (index != null) return index.getElementJson(elementName, pageName);
+
             JsonArray pages = objectRepository.getAsJsonArray("pages");
 
             JsonObject pageJson = Objects.requireNonNull(
@@ -873,27 +879,48 @@ public class ElementAcquisition {
     public static class Reflections<ObjectRepository extends PageRepository> {
         private final Class<ObjectRepository> pageRepositoryClass;
 
+        /**
+         * Page constructors of the repository, keyed by lowercase page field names
+         */
+        private final Map<String, MethodHandle> pageConstructors = new HashMap<>();
+
         public Reflections(Class<ObjectRepository> pageRepository) {
             this.pageRepositoryClass = pageRepository;
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            for (Field field : pageRepository.getDeclaredFields()) {
+                try {
+                    Constructor<?> constructor = field.getType().getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    MethodHandle handle = lookup.unreflectConstructor(constructor);
+                    String key = field.getName().toLowerCase();
+                    if (pageConstructors.containsKey(key)) pageConstructors.put(key, null); // Ambiguous page name
+                    else pageConstructors.put(key, handle);
+                    FieldIndex.of(field.getType());
+                }
+                catch (NoSuchMethodException | IllegalAccessException | RuntimeException ignored) {}
+            }
         }
 
         protected Object getPageObject(String pageName){
+            MethodHandle constructor = pageConstructors.get(pageName.toLowerCase());
+            if (constructor == null)
+                throw new PickleibException("ObjectRepository does not contain an instance of " + pageName + " object!");
             try {
-                return Arrays.stream(pageRepositoryClass.getDeclaredFields())
-                        .filter(field -> field.getName().equalsIgnoreCase(pageName))
-                        .collect(Collectors.toSingleton())
-                        .getType()
-                        .getDeclaredConstructor()
-                        .newInstance();
-            }
-            catch (
-                    InstantiationException |
-                    IllegalAccessException |
-                    NoSuchMethodException  |
-                    InvocationTargetException e
-            ) {
-                throw new RuntimeException(e);
+                return constructor.invoke();
             }
+            catch (RuntimeException exception) {throw exception;}
+            catch (Throwable throwable) {throw new RuntimeException(throwable);}
+        }
+
+        /**
+         * Reads a field of a given page object or component
+         *
+         * @param target page object or component
+         * @param fieldName field name
+         * @return returns the field value
+         */
+        protected Object getFieldOf(Object target, String fieldName){
+            return FieldIndex.of(target.getClass()).get(target, fieldName);
         }
 
         /**
@@ -905,13 +932,10 @@ public class ElementAcquisition {
          */
         public WebElement getElementFromPage(String elementFieldName, String pageName){
             pageName = StringUtilities.firstLetterDeCapped(pageName);
-            Map<String, Object> pageFields;
-            Object pageObject = getPageObject(pageName);
-            if (pageObject != null) pageFields = getFields(pageObject);
-            else throw new PickleibException("ObjectRepository does not contain an instance of " + pageName + " object!");
-            if (pageFields.get(elementFieldName) == null)
+            Object element = getFieldOf(getPageObject(pageName), elementFieldName);
+            if (element == null)
                 throw new PickleibException("The " + highlighted(YELLOW, pageName) + " page object does not contain " + highlighted(YELLOW, elementFieldName) + " element!");
-            return (WebElement) pageFields.get(elementFieldName);
+            return (WebElement) element;
         }
 
         /**
@@ -923,14 +947,11 @@ public class ElementAcquisition {
          */
         @SuppressWarnings("unchecked")
         public List<WebElement> getElementsFromPage(String elementListFieldName, String pageName){
-            Map<String, Object> pageFields;
             pageName = firstLetterDeCapped(pageName);
-            Object pageObject = getPageObject(pageName);
-            if (pageObject != null) pageFields = getFields(pageObject);
-            else throw new PickleibException("ObjectRepository does not contain an instance of " + pageName + " object!");
-            if (pageFields.get(elementListFieldName) == null)
+            Object elements = getFieldOf(getPageObject(pageName), elementListFieldName);
+            if (elements == null)
                 throw new PickleibException("The " + highlighted(YELLOW, pageName) + " page object does not contain " + highlighted(YELLOW, elementListFieldName) + " element list!");
-            return (List<WebElement>) pageFields.get(elementListFieldName);
+            return (List<WebElement>) elements;
         }
 
         /**
@@ -948,8 +969,7 @@ public class ElementAcquisition {
                 String pageName){
             List<Component> componentList = getComponentsFromPage(componentListName, pageName);
             Component component = acquireNamedComponentAmongst(componentList, selectionName);
-            Map<String, Object> componentFields = getFields(component);
-            return (WebElement) componentFields.get(elementFieldName);
+            return (WebElement) getFieldOf(component, elementFieldName);
         }
 
         /**
@@ -968,8 +988,7 @@ public class ElementAcquisition {
                 String pageName){
             List<Component> componentList = getComponentsFromPage(componentListName, pageName);
             Component component = acquireNamedComponentAmongst(componentList, selectionName);
-            Map<String, Object> componentFields = getFields(component);
-            return (List<WebElement>) componentFields.get(elementFieldName);
+            return (List<WebElement>) getFieldOf(component, elementFieldName);
         }
 
         /**
@@ -987,8 +1006,7 @@ public class ElementAcquisition {
                 String pageName){
             List<Component> componentList = getComponentsFromPage(componentListName, pageName);
             Component component = acquireNamedComponentAmongst(componentList, selectionName);
-            Map<String, Object> componentFields = getFields(component);
-            return (WebElement) componentFields.get(elementFieldName);
+            return (WebElement) getFieldOf(component, elementFieldName);
         }
 
         /**
@@ -1007,27 +1025,36 @@ public class ElementAcquisition {
                 String pageName){
             List<Component> componentList = getComponentsFromPage(componentListName, pageName);
             Component component = acquireNamedComponentAmongst(componentList, selectionName);
-            Map<String, Object> componentFields = getFields(component);
-            return (List<WebElement>) componentFields.get(listFieldName);
+            return (List<WebElement>) getFieldOf(component, listFieldName);
         }
 
         /**
-         * Acquires a map of fields from a given component
+         * Acquires a component from a given page
          *
          * @param componentName component name
          * @param pageName name of the page instance
-         * @return returns map of fields
+         * @return returns the component
          */
-        public Map<String, Object> getComponentFieldsFromPage(String componentName, String pageName){
-            Map<String, Object> pageFields;
+        protected Object getComponentFromPage(String componentName, String pageName){
             pageName = firstLetterDeCapped(pageName);
             Object pageObject = getPageObject(pageName);
-            if (pageObject != null) pageFields = getFields(pageObject);
-            else throw new PickleibException("ObjectRepository does not contain an instance of " + pageName + " object!");
-            if (pageFields.containsKey(componentName)) return getFields(pageFields.get(componentName));
+            FieldIndex pageIndex = FieldIndex.of(pageObject.getClass());
+            if (pageIndex.contains(componentName)) return pageIndex.get(pageObject, componentName);
             else throw new PickleibException(pageName + " does not contain " + componentName + " component!");
         }
 
+        /**
+         * Acquires a map of fields from a given component
+         *
+         * @param componentName component name
+         * @param pageName name of the page instance
+         * @return returns map of fields
+         */
+        public Map<String, Object> getComponentFieldsFromPage(String componentName, String pageName){
+            Object component = getComponentFromPage(componentName, pageName);
+            return FieldIndex.of(component.getClass()).toMap(component);
+        }
+
         /**
          * Acquires a list of element from a given page
          *
@@ -1037,13 +1064,8 @@ public class ElementAcquisition {
          */
         @SuppressWarnings("unchecked")
         public <Component extends WebElement> List<Component> getComponentsFromPage(String componentListName, String pageName){
-            Map<String, Object> pageFields;
-            Map<String, Object> componentFields;
             pageName = firstLetterDeCapped(pageName);
-            Object pageObject = getPageObject(pageName);
-            if (pageObject != null) pageFields = getFields(pageObject);
-            else throw new PickleibException("ObjectRepository does not contain an instance of " + pageName + " object!");
-            return (List<Component>) pageFields.get(componentListName);
+            return (List<Component>) getFieldOf(getPageObject(pageName), componentListName);
         }
 
         /**
@@ -1076,8 +1098,9 @@ public class ElementAcquisition {
          * @return returns the element
          */
         public WebElement getElementFromComponent(String elementFieldName, String componentName, String pageName){
-            Map<String, Object> fields = getComponentFieldsFromPage(componentName, pageName);
-            if (fields.containsKey(elementFieldName)) return (WebElement) fields.get(elementFieldName);
+            Object component = getComponentFromPage(componentName, pageName);
+            FieldIndex componentIndex = FieldIndex.of(component.getClass());
+            if (componentIndex.contains(elementFieldName)) return (WebElement) componentIndex.get(component, elementFieldName);
             else throw new PickleibException(componentName + " component of " + pageName + " does not contain a field called " + elementFieldName);
         }
 
@@ -1089,8 +1112,8 @@ public class ElementAcquisition {
          * @return returns the element
          */
         public WebElement getElementFromComponent(String elementFieldName, Object component){
-            Map<String, Object> fields = getComponentFields(component);
-            if (fields.containsKey(elementFieldName)) return (WebElement) fields.get(elementFieldName);
+            FieldIndex componentIndex = FieldIndex.of(component.getClass());
+            if (componentIndex.contains(elementFieldName)) return (WebElement) componentIndex.get(component, elementFieldName);
             else throw new PickleibException("The component does not contain a field called " + elementFieldName);
         }
 
@@ -1104,8 +1127,9 @@ public class ElementAcquisition {
          */
         @SuppressWarnings("unchecked")
         public List<WebElement> getElementsFromComponent(String listFieldName, String componentName, String pageName){
-            Map<String, Object> fields = getComponentFieldsFromPage(componentName, pageName);
-            if (fields.containsKey(listFieldName)) return (List<WebElement>) fields.get(listFieldName);
+            Object component = getComponentFromPage(componentName, pageName);
+            FieldIndex componentIndex = FieldIndex.of(component.getClass());
+            if (componentIndex.contains(listFieldName)) return (List<WebElement>) componentIndex.get(component, listFieldName);
             else throw new PickleibException(componentName + " component of " + pageName + " does not contain a field called " + listFieldName);
         }
 
@@ -1118,8 +1142,8 @@ public class ElementAcquisition {
          */
         @SuppressWarnings("unchecked")
         public List<WebElement> getElementsFromComponent(String elementListFieldName, Object component){
-            Map<String, Object> fields = getComponentFields(component);
-            if (fields.containsKey(elementListFieldName)) return (List<WebElement>) fields.get(elementListFieldName);
+            FieldIndex componentIndex = FieldIndex.of(component.getClass());
+            if (componentIndex.contains(elementListFieldName)) return (List<WebElement>) componentIndex.get(component, elementListFieldName);
             else throw new PickleibException("The component does not contain a field called " + elementListFieldName);
         }
 
@@ -1139,18 +1163,16 @@ public class ElementAcquisition {
                 String targetElementFieldName
         ){
             log.info("Acquiring component called " + highlighted(BLUE, elementText));
-            boolean timeout = false;
-            long initialTime = System.currentTimeMillis();
-            while (!timeout){
+            Component match = getPoller().poll("acquireExactNamedComponentAmongst", elementTimeout, () -> {
                 for (Component component : items) {
-                    Map<String, Object> componentFields = getFields(component);
-                    WebElement element = (WebElement) componentFields.get(targetElementFieldName);
+                    WebElement element = (WebElement) getFieldOf(component, targetElementFieldName);
                     String text = element.getText();
                     String name = element.getAccessibleName();
                     if (text.equalsIgnoreCase(elementText) || name.equalsIgnoreCase(elementText)) return component;
                 }
-                if (System.currentTimeMillis() - initialTime > elementTimeout) timeout = true;
-            }
+                return null;
+            }, MutationWaiter.pauseFor(items));
+            if (match != null) return match;
             throw new NoSuchElementException("No component with text/name '" + elementText + "' could be found!");
         }
     }
@@ -0,0 +1,124 @@
+package pickleib.utilities.element.acquisition;
+
+import pickleib.exceptions.PickleibException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Precompiled instance field accessors of a class, built once per class and shared afterwards.
+ * Fields are looked up by their exact name first, then by their lowercase name.
+ * Fields declared by subclasses shadow the ones of their superclasses.
+ */
+public class FieldIndex {
+
+    private static final ClassValue<FieldIndex> indexes = new ClassValue<>() {
+        @Override
+        protected FieldIndex computeValue(Class<?> type) {
+            return new FieldIndex(type);
+        }
+    };
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    private final Class<?> type;
+    private final Map<String, MethodHandle> getters;
+    private final Map<String, MethodHandle> normalisedGetters;
+
+    private FieldIndex(Class<?> type) {
+        this.type = type;
+        Map<String, MethodHandle> getters = new LinkedHashMap<>();
+        Map<String, MethodHandle> normalisedGetters = new HashMap<>();
+        for (Class<?> current = type; current != null && !isPlatformClass(current); current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic() || getters.containsKey(field.getName()))
+                    continue;
+                MethodHandle getter = getter(field);
+                if (getter == null) continue;
+                getters.put(field.getName(), getter);
+                normalisedGetters.putIfAbsent(field.getName().toLowerCase(), getter);
+            }
+        }
+        this.getters = Collections.unmodifiableMap(getters);
+        this.normalisedGetters = Collections.unmodifiableMap(normalisedGetters);
+    }
+
+    /**
+     * Returns the field index of a given class
+     *
+     * @param type target class
+     * @return returns the cached field index
+     */
+    public static FieldIndex of(Class<?> type) {
+        return indexes.get(type);
+    }
+
+    /**
+     * Checks if the indexed class has a given field
+     *
+     * @param fieldName field name (exact or case-insensitive)
+     * @return true if the field exists
+     */
+    public boolean contains(String fieldName) {
+        return find(fieldName) != null;
+    }
+
+    /**
+     * Reads a field of a given instance
+     *
+     * @param target    instance of the indexed class
+     * @param fieldName field name (exact or case-insensitive)
+     * @return returns the field value, or null if the field does not exist
+     */
+    public Object get(Object target, String fieldName) {
+        MethodHandle getter = find(fieldName);
+        if (getter == null) return null;
+        try {
+            return getter.invoke(target);
+        }
+        catch (RuntimeException | Error exception) {throw exception;}
+        catch (Throwable throwable) {throw new PickleibException(new RuntimeException(throwable));}
+    }
+
+    /**
+     * Reads all fields of a given instance
+     *
+     * @param target instance of the indexed class
+     * @return returns a map of field names and values
+     */
+    public Map<String, Object> toMap(Object target) {
+        Map<String, Object> fields = new HashMap<>();
+        for (String fieldName : getters.keySet()) fields.put(fieldName, get(target, fieldName));
+        return fields;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    private MethodHandle find(String fieldName) {
+        if (fieldName == null) return null;
+        MethodHandle getter = getters.get(fieldName);
+        if (getter == null) getter = normalisedGetters.get(fieldName.toLowerCase());
+        return getter;
+    }
+
+    private static MethodHandle getter(Field field) {
+        try {
+            field.setAccessible(true);
+            return lookup.unreflectGetter(field);
+        }
+        catch (IllegalAccessException | RuntimeException exception) {return null;}
+    }
+
+    private static boolean isPlatformClass(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+}
@@ -0,0 +1,163 @@
+package pickleib.utilities.element.acquisition;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.pagefactory.ByAll;
+import pickleib.enums.SelectorType;
+import pickleib.exceptions.PickleibException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static utils.StringUtilities.Color.YELLOW;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Immutable, hash indexed model of a Json object repository.
+ * The repository is parsed once into pages, elements and their locators. Compound locators are
+ * built once per selector type combination and reused afterwards.
+ */
+public class ObjectRepositoryIndex {
+
+    private final Map<String, Map<String, Element>> pages;
+
+    /**
+     * Parses a given Json object repository
+     *
+     * @param objectRepository Json object repository, containing a "pages" array
+     */
+    public ObjectRepositoryIndex(JsonObject objectRepository) {
+        Map<String, Map<String, Element>> pages = new HashMap<>();
+        JsonArray pageArray = objectRepository.getAsJsonArray("pages");
+        for (JsonElement pageElement : pageArray) {
+            JsonObject pageJson = pageElement.getAsJsonObject();
+            String pageName = pageJson.get("name").getAsJsonPrimitive().getAsString();
+            Map<String, Element> elements = new HashMap<>();
+            JsonArray elementArray = pageJson.getAsJsonArray("elements");
+            if (elementArray != null)
+                for (JsonElement elementJson : elementArray) {
+                    String elementName = elementJson.getAsJsonObject().get("elementName").getAsJsonPrimitive().getAsString();
+                    elements.putIfAbsent(elementName, new Element(elementJson.getAsJsonObject()));
+                }
+            pages.putIfAbsent(pageName, Collections.unmodifiableMap(elements));
+        }
+        this.pages = Collections.unmodifiableMap(pages);
+    }
+
+    /**
+     * Checks if the repository contains a given page
+     *
+     * @param pageName page name
+     * @return true if the page exists
+     */
+    public boolean containsPage(String pageName) {
+        return pages.containsKey(pageName);
+    }
+
+    /**
+     * Returns the indexed element of a given page
+     *
+     * @param elementName element name
+     * @param pageName page name
+     * @return returns the indexed element, or null if the page does not contain the element
+     */
+    public Element getElement(String elementName, String pageName) {
+        Map<String, Element> elements = pages.get(pageName);
+        if (elements == null)
+            throw new PickleibException("The object repository does not contain a page called " + highlighted(YELLOW, pageName) + "!");
+        return elements.get(elementName);
+    }
+
+    /**
+     * Returns the selectors of an element as a JsonObject
+     *
+     * @param elementName element name
+     * @param pageName page name
+     * @return returns the element json, or null if the page does not contain the element
+     */
+    public JsonObject getElementJson(String elementName, String pageName) {
+        Element element = getElement(elementName, pageName);
+        return element == null ? null : element.json;
+    }
+
+    /**
+     * Indexed element selectors
+     */
+    public static class Element {
+
+        final JsonObject json;
+        final Map<SelectorType, By> locators = new EnumMap<>(SelectorType.class);
+        final Map<List<SelectorType>, ByAll> compoundLocators = new ConcurrentHashMap<>();
+
+        Element(JsonObject json) {
+            this.json = json;
+            for (SelectorType selectorType : SelectorType.values()) {
+                By locator = locatorOf(json, selectorType);
+                if (locator != null) locators.put(selectorType, locator);
+            }
+        }
+
+        /**
+         * Returns a compound locator of given selector types, in the given order.
+         * Selector types the element does not define are skipped.
+         *
+         * @param selectorTypes desired selector types
+         * @return returns the (cached) compound locator
+         */
+        public ByAll getByAll(SelectorType... selectorTypes) {
+            return compoundLocators.computeIfAbsent(List.of(selectorTypes), combination -> buildByAll(selectorTypes));
+        }
+
+        /**
+         * Returns the locator of a given selector type
+         *
+         * @param selectorType selector type
+         * @return returns the locator, or null if the element does not define the selector
+         */
+        public By getLocator(SelectorType selectorType) {
+            return locators.get(selectorType);
+        }
+
+        public JsonObject getJson() {
+            return json;
+        }
+
+        private ByAll buildByAll(SelectorType... selectorTypes) {
+            List<By> byList = new ArrayList<>();
+            for (SelectorType selectorType : selectorTypes) {
+                By locator = locators.get(selectorType);
+                if (locator != null) byList.add(locator);
+            }
+            return new ByAll(byList.toArray(new By[0]));
+        }
+    }
+
+    /**
+     * Builds the locator of a given selector type from an element json
+     *
+     * @param elementJson element json
+     * @param selectorType selector type
+     * @return returns the locator, or null if the element json does not define the selector
+     */
+    static By locatorOf(JsonObject elementJson, SelectorType selectorType) {
+        try {
+            return switch (selectorType) {
+                case id ->          By.id(elementJson.get("id").getAsJsonPrimitive().getAsString());
+                case name ->        By.name(elementJson.get("name").getAsJsonPrimitive().getAsString());
+                case tagName ->     By.tagName(elementJson.get("tagName").getAsJsonPrimitive().getAsString());
+                case className ->   By.className(elementJson.get("className").getAsJsonPrimitive().getAsString());
+                case css ->         By.cssSelector(elementJson.get("cssSelector").getAsJsonPrimitive().getAsString());
+                case xpath ->       By.xpath(elementJson.get("xpath").getAsJsonPrimitive().getAsString());
+                case text ->        By.xpath("//*[text()='" + elementJson.get("text").getAsJsonPrimitive().getAsString() + "']");
+            };
+        }
+        catch (NullPointerException | IllegalStateException ignored) {return null;}
+    }
+}
@@ -3,11 +3,17 @@ package pickleib.utilities.element.interactions;
 import org.openqa.selenium.WebElement;
 import pickleib.driver.DriverFactory;
 import pickleib.mobile.interactions.PlatformInteractions;
+import pickleib.utilities.instrumentation.InstrumentedInteractions;
+import pickleib.utilities.instrumentation.Instrumentation;
 import pickleib.utilities.interfaces.PolymorphicUtilities;
 import pickleib.web.interactions.WebInteractions;
 import utils.Printer;
 import utils.StringUtilities;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import static pickleib.driver.DriverFactory.DriverType.appium;
 import static pickleib.driver.DriverFactory.DriverType.getDriverType;
 import static pickleib.utilities.platform.PlatformUtilities.*;
@@ -17,6 +23,7 @@ public class InteractionBase {
     public Printer log = new Printer(this.getClass());
     public WebInteractions webInteractions;
     public PlatformInteractions platformInteractions;
+    private final Map<PolymorphicUtilities, PolymorphicUtilities> instrumentedInteractions = Collections.synchronizedMap(new IdentityHashMap<>());
 
     public InteractionBase(
             boolean platformDriverActive,
@@ -34,10 +41,10 @@ public class InteractionBase {
         if (!StringUtilities.isBlank(driverType))
             switch (driverType) {
                 case selenium -> {
-                    return webInteractions;
+                    return instrumented(webInteractions);
                 }
                 case appium -> {
-                    return platformInteractions;
+                    return instrumented(platformInteractions);
                 }
             }
         else return getInteractions(defaultPlatform);
@@ -50,9 +57,20 @@ public class InteractionBase {
      * @return The element interactions for the specified driver type.
      */
     public PolymorphicUtilities getInteractions(WebElement element) {
-        if (isAppiumDriver(getElementDriver(element)))
-            return platformInteractions;
+        if (getElementIdentity(element).isAppium())
+            return instrumented(platformInteractions);
         else
-            return webInteractions;
+            return instrumented(webInteractions);
+    }
+
+    /**
+     * Wraps interactions with {@link InstrumentedInteractions} while instrumentation is enabled
+     *
+     * @param interactions web or platform interactions
+     * @return returns the instrumented interactions, or the given interactions if instrumentation is disabled
+     */
+    private PolymorphicUtilities instrumented(PolymorphicUtilities interactions) {
+        if (interactions == null || !Instrumentation.isEnabled()) return interactions;
+        return instrumentedInteractions.computeIfAbsent(interactions, InstrumentedInteractions::wrap);
     }
 }
@@ -0,0 +1,126 @@
+package pickleib.utilities.instrumentation;
+
+import utils.Printer;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default collector, aggregating interaction durations into latency histograms per interaction
+ * and per page element, along with retry, failure and exception class counts.
+ */
+@SuppressWarnings("unused")
+public class HistogramCollector implements InteractionListener {
+
+    static Printer log = new Printer(HistogramCollector.class);
+
+    private final Map<String, Statistics> interactions = new ConcurrentHashMap<>();
+    private final Map<String, Statistics> elements = new ConcurrentHashMap<>();
+
+    @Override
+    public void onInteraction(InteractionEvent event) {
+        interactions.computeIfAbsent(event.interaction, key -> new Statistics()).record(event);
+        if (event.elementName != null)
+            elements.computeIfAbsent(
+                    event.pageName + "." + event.elementName + " " + event.interaction,
+                    key -> new Statistics()
+            ).record(event);
+    }
+
+    /**
+     * Returns the statistics per interaction method
+     */
+    public Map<String, Statistics> getInteractions() {
+        return new TreeMap<>(interactions);
+    }
+
+    /**
+     * Returns the statistics per page element and interaction, keyed as "page.element interaction"
+     */
+    public Map<String, Statistics> getElements() {
+        return new TreeMap<>(elements);
+    }
+
+    public void reset() {
+        interactions.clear();
+        elements.clear();
+    }
+
+    /**
+     * Returns a table of interaction latencies (in milliseconds), retries and failures
+     */
+    public String getReport() {
+        StringBuilder report = new StringBuilder(String.format(
+                "%-40s %8s %8s %8s %8s %8s %8s %8s%n", "interaction", "count", "p50", "p90", "p99", "max", "retries", "failed"
+        ));
+        getInteractions().forEach((interaction, statistics) -> report.append(statistics.format(interaction)));
+        return report.toString();
+    }
+
+    /**
+     * Logs the interaction report
+     */
+    public void printReport() {
+        log.info("Interaction report:\n" + getReport());
+    }
+
+    public static class Statistics {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final LongAdder retries = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final Map<String, LongAdder> exceptions = new ConcurrentHashMap<>();
+
+        void record(InteractionEvent event) {
+            histogram.record(event.duration);
+            if (event.retries > 0) retries.add(event.retries);
+            if (event.retriedException != null)
+                exceptions.computeIfAbsent(event.retriedException, key -> new LongAdder()).increment();
+            if (event.exception != null) {
+                failures.increment();
+                exceptions.computeIfAbsent(event.exception, key -> new LongAdder()).increment();
+            }
+        }
+
+        public LatencyHistogram getHistogram() {
+            return histogram;
+        }
+
+        public long getRetries() {
+            return retries.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        /**
+         * Returns the number of interactions that retried on, or failed with, each exception class
+         */
+        public Map<String, Long> getExceptions() {
+            Map<String, Long> counts = new TreeMap<>();
+            exceptions.forEach((exception, count) -> counts.put(exception, count.sum()));
+            return counts;
+        }
+
+        String format(String key) {
+            return String.format(
+                    "%-40s %8d %8.1f %8.1f %8.1f %8.1f %8d %8d%n",
+                    key,
+                    histogram.getCount(),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMax()),
+                    getRetries(),
+                    getFailures()
+            );
+        }
+
+        static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
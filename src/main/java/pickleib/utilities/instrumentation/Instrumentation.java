@@ -0,0 +1,124 @@
+package pickleib.utilities.instrumentation;
+
+import context.ContextStore;
+import utils.Printer;
+
+import java.util.Arrays;
+import java.util.ServiceLoader;
+
+/**
+ * Instrumentation entry point of Pickleib interactions.
+ * Instrumentation is enabled while at least one {@link InteractionListener} is registered. When disabled, interactions
+ * are not wrapped and retry hooks return after a single volatile read.
+ */
+@SuppressWarnings("unused")
+public class Instrumentation {
+
+    static Printer log = new Printer(Instrumentation.class);
+
+    private static final InteractionListener[] NO_LISTENERS = new InteractionListener[0];
+
+    private static volatile InteractionListener[] listeners = NO_LISTENERS;
+
+    private static final ThreadLocal<RetryCounter> retries = ThreadLocal.withInitial(RetryCounter::new);
+
+    private static final HistogramCollector defaultCollector = new HistogramCollector();
+
+    static {
+        if (Boolean.parseBoolean(ContextStore.get("instrumentation", "false"))) {
+            register(defaultCollector);
+            for (InteractionListener listener : ServiceLoader.load(InteractionListener.class)) register(listener);
+        }
+        if (Boolean.parseBoolean(ContextStore.get("instrumentation-jfr", "false"))) register(new JfrExporter());
+    }
+
+    /**
+     * Checks if any listener is registered
+     */
+    public static boolean isEnabled() {
+        return listeners.length > 0;
+    }
+
+    public static synchronized void register(InteractionListener listener) {
+        InteractionListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    public static synchronized void unregister(InteractionListener listener) {
+        listeners = Arrays.stream(listeners).filter(registered -> registered != listener).toArray(InteractionListener[]::new);
+    }
+
+    public static synchronized void unregisterAll() {
+        listeners = NO_LISTENERS;
+    }
+
+    /**
+     * Returns the default histogram collector, registered if the "instrumentation" property is true
+     */
+    public static HistogramCollector getDefaultCollector() {
+        return defaultCollector;
+    }
+
+    /**
+     * Records a retried attempt of the current interaction
+     *
+     * @param exception exception that caused the retry
+     */
+    public static void recordRetry(Throwable exception) {
+        if (listeners.length == 0) return;
+        RetryCounter counter = retries.get();
+        counter.retries++;
+        counter.exception = exception.getClass().getName();
+    }
+
+    /**
+     * Starts counting retries of an interaction on the current thread
+     *
+     * @return returns the retry count of the enclosing interaction, to be restored by {@link #end}
+     */
+    static RetryCounter begin() {
+        RetryCounter counter = retries.get();
+        RetryCounter enclosing = new RetryCounter();
+        enclosing.retries = counter.retries;
+        enclosing.exception = counter.exception;
+        counter.retries = 0;
+        counter.exception = null;
+        return enclosing;
+    }
+
+    /**
+     * Publishes an interaction event to the registered listeners
+     */
+    static void end(
+            RetryCounter enclosing,
+            String interaction,
+            String elementName,
+            String pageName,
+            long duration,
+            Throwable exception) {
+        RetryCounter counter = retries.get();
+        InteractionEvent event = new InteractionEvent(
+                interaction,
+                elementName,
+                pageName,
+                duration,
+                counter.retries,
+                counter.exception,
+                exception == null ? null : exception.getClass().getName()
+        );
+        counter.retries += enclosing.retries;
+        if (enclosing.exception != null && counter.exception == null) counter.exception = enclosing.exception;
+        for (InteractionListener listener : listeners) {
+            try {listener.onInteraction(event);}
+            catch (RuntimeException listenerException) {
+                log.warning("Interaction listener failed: " + listenerException.getMessage());
+            }
+        }
+    }
+
+    static class RetryCounter {
+        int retries;
+        String exception;
+    }
+}
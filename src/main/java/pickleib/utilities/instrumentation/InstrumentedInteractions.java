@@ -0,0 +1,89 @@
+package pickleib.utilities.instrumentation;
+
+import pickleib.utilities.interfaces.PolymorphicUtilities;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps {@link PolymorphicUtilities} so each interaction is timed and published through {@link Instrumentation}.
+ * Element and page names are taken from the "elementName" and "pageName" parameters of the invoked method.
+ */
+public class InstrumentedInteractions implements InvocationHandler {
+
+    private static final Map<Method, int[]> nameIndexes = new ConcurrentHashMap<>();
+
+    private final PolymorphicUtilities interactions;
+
+    InstrumentedInteractions(PolymorphicUtilities interactions) {
+        this.interactions = interactions;
+    }
+
+    /**
+     * Wraps given interactions
+     *
+     * @param interactions interactions to be instrumented
+     * @return returns the instrumented interactions
+     */
+    public static PolymorphicUtilities wrap(PolymorphicUtilities interactions) {
+        if (interactions == null || Proxy.isProxyClass(interactions.getClass())) return interactions;
+        return (PolymorphicUtilities) Proxy.newProxyInstance(
+                PolymorphicUtilities.class.getClassLoader(),
+                new Class<?>[]{PolymorphicUtilities.class},
+                new InstrumentedInteractions(interactions)
+        );
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class || !Instrumentation.isEnabled())
+            return invokeTarget(method, args);
+
+        int[] indexes = nameIndexes.computeIfAbsent(method, InstrumentedInteractions::nameIndexesOf);
+        Instrumentation.RetryCounter enclosing = Instrumentation.begin();
+        Throwable failure = null;
+        long start = System.nanoTime();
+        try {return invokeTarget(method, args);}
+        catch (Throwable throwable) {
+            failure = throwable;
+            throw throwable;
+        }
+        finally {
+            Instrumentation.end(
+                    enclosing,
+                    method.getName(),
+                    nameOf(args, indexes[0]),
+                    nameOf(args, indexes[1]),
+                    System.nanoTime() - start,
+                    failure
+            );
+        }
+    }
+
+    private Object invokeTarget(Method method, Object[] args) throws Throwable {
+        try {return method.invoke(interactions, args);}
+        catch (InvocationTargetException exception) {throw exception.getCause();}
+    }
+
+    private static String nameOf(Object[] args, int index) {
+        return index < 0 || args[index] == null ? null : args[index].toString();
+    }
+
+    private static int[] nameIndexesOf(Method method) {
+        int[] indexes = {-1, -1};
+        Parameter[] parameters = method.getParameters();
+        for (int index = 0; index < parameters.length; index++) {
+            if (parameters[index].getType() != String.class) continue;
+            switch (parameters[index].getName()) {
+                case "elementName" -> indexes[0] = index;
+                case "pageName" -> indexes[1] = index;
+            }
+        }
+        return indexes;
+    }
+}
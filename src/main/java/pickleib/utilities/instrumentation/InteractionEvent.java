@@ -0,0 +1,86 @@
+package pickleib.utilities.instrumentation;
+
+/**
+ * Outcome of a single interaction, as reported to {@link InteractionListener}s
+ */
+@SuppressWarnings("unused")
+public class InteractionEvent {
+
+    final String interaction;
+    final String elementName;
+    final String pageName;
+    final long duration;
+    final int retries;
+    final String retriedException;
+    final String exception;
+
+    public InteractionEvent(
+            String interaction,
+            String elementName,
+            String pageName,
+            long duration,
+            int retries,
+            String retriedException,
+            String exception) {
+        this.interaction = interaction;
+        this.elementName = elementName;
+        this.pageName = pageName;
+        this.duration = duration;
+        this.retries = retries;
+        this.retriedException = retriedException;
+        this.exception = exception;
+    }
+
+    /**
+     * Name of the interaction method
+     */
+    public String getInteraction() {
+        return interaction;
+    }
+
+    /**
+     * Element name the interaction was called with, or null
+     */
+    public String getElementName() {
+        return elementName;
+    }
+
+    /**
+     * Page name the interaction was called with, or null
+     */
+    public String getPageName() {
+        return pageName;
+    }
+
+    /**
+     * Duration of the interaction in nanoseconds
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Number of retried attempts within the interaction
+     */
+    public int getRetries() {
+        return retries;
+    }
+
+    /**
+     * Class name of the last exception that caused a retry, or null
+     */
+    public String getRetriedException() {
+        return retriedException;
+    }
+
+    /**
+     * Class name of the exception the interaction failed with, or null if it succeeded
+     */
+    public String getException() {
+        return exception;
+    }
+
+    public boolean isFailed() {
+        return exception != null;
+    }
+}
@@ -0,0 +1,10 @@
+package pickleib.utilities.instrumentation;
+
+/**
+ * Receives interaction events. Implementations are called on the interacting thread, so they should return quickly.
+ * Listeners registered as a {@link java.util.ServiceLoader} service are installed when instrumentation is enabled.
+ */
+@FunctionalInterface
+public interface InteractionListener {
+    void onInteraction(InteractionEvent event);
+}
@@ -0,0 +1,51 @@
+package pickleib.utilities.instrumentation;
+
+import jdk.jfr.*;
+
+/**
+ * Exports interactions as "pickleib.Interaction" Java Flight Recorder events
+ */
+public class JfrExporter implements InteractionListener {
+
+    @Override
+    public void onInteraction(InteractionEvent event) {
+        InteractionRecord record = new InteractionRecord();
+        if (!record.isEnabled()) return;
+        record.interaction = event.interaction;
+        record.elementName = event.elementName;
+        record.pageName = event.pageName;
+        record.interactionDuration = event.duration;
+        record.retries = event.retries;
+        record.retriedException = event.retriedException;
+        record.exception = event.exception;
+        record.commit();
+    }
+
+    @Name("pickleib.Interaction")
+    @Label("Pickleib Interaction")
+    @Category("Pickleib")
+    @StackTrace(false)
+    static class InteractionRecord extends Event {
+        @Label("Interaction")
+        String interaction;
+
+        @Label("Element Name")
+        String elementName;
+
+        @Label("Page Name")
+        String pageName;
+
+        @Label("Interaction Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long interactionDuration;
+
+        @Label("Retries")
+        int retries;
+
+        @Label("Retried Exception")
+        String retriedException;
+
+        @Label("Exception")
+        String exception;
+    }
+}
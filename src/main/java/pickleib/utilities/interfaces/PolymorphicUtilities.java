@@ -4,12 +4,17 @@ import collections.Bundle;
 import org.jetbrains.annotations.NotNull;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
 import pickleib.enums.Direction;
 import pickleib.enums.ElementState;
+import pickleib.exceptions.PickleibException;
 import pickleib.utilities.Utilities;
+import pickleib.utilities.element.DomPaths;
 import pickleib.utilities.interfaces.functions.LocateElement;
+import pickleib.utilities.platform.PlatformUtilities;
 
 import java.util.List;
 import java.util.Map;
@@ -451,6 +456,19 @@ public interface PolymorphicUtilities {
      */
     String generateXPath(@NotNull WebElement childElement, String elementName, String pageName, String current);
 
+    /**
+     * Generates a CSS selector path that uniquely identifies a given element (browser sessions only)
+     *
+     * @param element target element
+     * @return returns the CSS selector path
+     */
+    default String generateCssPath(@NotNull WebElement element) {
+        WebDriver driver = PlatformUtilities.getElementDriver(element);
+        if (!(driver instanceof RemoteWebDriver remoteDriver) || !PlatformUtilities.supportsScripts(driver))
+            throw new PickleibException("CSS paths can only be generated within browser sessions!");
+        return DomPaths.uniqueCssPath(remoteDriver, element);
+    }
+
     /**
      * Acquires attribute {attribute name} from element {element name} on the {page name}
      * (Use 'innerHTML' attributeName to acquire text on an element)
@@ -0,0 +1,9 @@
+package pickleib.utilities.interfaces.functions;
+
+/**
+ * A single gesture attempt, performed against the driver.
+ */
+@FunctionalInterface
+public interface GestureFunction {
+    void perform();
+}
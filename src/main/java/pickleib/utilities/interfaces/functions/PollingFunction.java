@@ -0,0 +1,11 @@
+package pickleib.utilities.interfaces.functions;
+
+/**
+ * A single polling attempt. Returning {@code null} means the condition is not met (yet).
+ *
+ * @param <T> attempt result type
+ */
+@FunctionalInterface
+public interface PollingFunction<T> {
+    T attempt();
+}
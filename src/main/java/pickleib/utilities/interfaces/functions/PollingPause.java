@@ -0,0 +1,13 @@
+package pickleib.utilities.interfaces.functions;
+
+/**
+ * Pause between two polling attempts
+ */
+@FunctionalInterface
+public interface PollingPause {
+    /**
+     * @param delay     backoff delay in milliseconds
+     * @param remaining remaining polling time in milliseconds, the pause must not exceed it
+     */
+    void pause(long delay, long remaining) throws InterruptedException;
+}
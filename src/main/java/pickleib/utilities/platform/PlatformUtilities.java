@@ -1,20 +1,33 @@
 package pickleib.utilities.platform;
 
 import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Platform;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.WrapsElement;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 import pickleib.driver.DriverFactory;
+import pickleib.mobile.profile.ProfiledInvocationHandler;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationHandler;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import static pickleib.driver.DriverFactory.DriverType.*;
 import static utils.reflection.ReflectionUtilities.getField;
 
 public class PlatformUtilities {
 
+    /**
+     * Driver identities of elements, keyed weakly on the proxy invocation handler (or the element itself)
+     */
+    private static final Map<Object, ElementIdentity> elementIdentities = Collections.synchronizedMap(new WeakHashMap<>());
+
     /**
      * Determines the type of driver associated with the provided WebElement.
      *
@@ -24,7 +37,7 @@ public class PlatformUtilities {
      * - If the WebElement is associated with a standard WebDriver, returns DriverType.selenium.
      */
     public static Platform getElementDriverPlatform(WebElement element) {
-        return ((RemoteWebDriver) getElementDriver(element)).getCapabilities().getPlatformName();
+        return getElementIdentity(element).getPlatform();
     }
 
     /**
@@ -35,17 +48,99 @@ public class PlatformUtilities {
      * @throws IllegalArgumentException if the element cannot be processed to retrieve its WebDriver.
      */
     public static WebDriver getElementDriver(WebElement element) {
+        return getElementIdentity(element).getDriver();
+    }
+
+    /**
+     * Retrieves the (cached) driver identity of a given WebElement.
+     * For PageFactory proxies, the driver is resolved from the search context of the proxy locator, so no element
+     * lookup is needed. The identity is cached for as long as the proxy (or element) is reachable.
+     *
+     * @param element The WebElement whose driver identity is to be retrieved.
+     * @return The driver identity of the provided WebElement.
+     */
+    public static ElementIdentity getElementIdentity(WebElement element) {
+        Object key = element instanceof java.lang.reflect.Proxy ? java.lang.reflect.Proxy.getInvocationHandler(element) : element;
+        ElementIdentity identity = elementIdentities.get(key);
+        if (identity == null || identity.getDriver() == null) {
+            identity = new ElementIdentity(resolveElementDriver(element));
+            elementIdentities.put(key, identity);
+        }
+        return identity;
+    }
+
+    /**
+     * Resolves the WebDriver instance associated with a given WebElement, without caching
+     */
+    private static WebDriver resolveElementDriver(WebElement element) {
         if (element instanceof java.lang.reflect.Proxy) {
             InvocationHandler proxyInvocationHandler = java.lang.reflect.Proxy.getInvocationHandler(element);
+            if (proxyInvocationHandler instanceof ProfiledInvocationHandler profiledHandler) return profiledHandler.getDriver();
             ElementLocator locator = (ElementLocator) getField("locator", proxyInvocationHandler);
+            WebDriver searchContextDriver = getLocatorDriver(locator);
+            if (searchContextDriver != null) return searchContextDriver;
             RemoteWebElement remoteWebElement = (RemoteWebElement) (locator).findElement();
             return remoteWebElement.getWrappedDriver();
-        } else {
+        }
+        else if (element instanceof WrapsDriver driverWrapper) return driverWrapper.getWrappedDriver();
+        else if (element instanceof WrapsElement elementWrapper) return resolveElementDriver(elementWrapper.getWrappedElement());
+        else {
             RemoteWebElement remoteWebElement = ((RemoteWebElement) element);
             return remoteWebElement.getWrappedDriver();
         }
     }
 
+    /**
+     * Reads the search context of a locator, and resolves its driver if the context is a driver or an element
+     *
+     * @param locator PageFactory (or Appium) element locator
+     * @return returns the driver, or null if the search context could not be resolved
+     */
+    public static WebDriver getLocatorDriver(ElementLocator locator) {
+        try {
+            Object searchContext = getField("searchContext", locator);
+            if (searchContext instanceof WeakReference<?> reference) searchContext = reference.get();
+            if (searchContext instanceof WrapsDriver driverWrapper) return driverWrapper.getWrappedDriver();
+            if (searchContext instanceof WebDriver driver) return driver;
+            if (searchContext instanceof WebElement element) return getElementDriver(element);
+        }
+        catch (RuntimeException ignored) {}
+        return null;
+    }
+
+    /**
+     * Driver, platform and driver type of an element, platform and driver type are resolved on first use
+     */
+    public static class ElementIdentity {
+        private final WeakReference<WebDriver> driver;
+        private final boolean appium;
+        private volatile Platform platform;
+        private volatile DriverFactory.DriverType driverType;
+
+        ElementIdentity(WebDriver driver) {
+            this.driver = new WeakReference<>(driver);
+            this.appium = driver instanceof AppiumDriver;
+        }
+
+        public WebDriver getDriver() {
+            return driver.get();
+        }
+
+        public boolean isAppium() {
+            return appium;
+        }
+
+        public Platform getPlatform() {
+            if (platform == null) platform = getDriverPlatform(getDriver());
+            return platform;
+        }
+
+        public DriverFactory.DriverType getDriverType() {
+            if (driverType == null) driverType = DriverFactory.DriverType.getDriverType(getPlatform());
+            return driverType;
+        }
+    }
+
     /**
      * Gets the driver type associated with the provided WebElement.
      *
@@ -53,7 +148,7 @@ public class PlatformUtilities {
      * @return The DriverType corresponding to the WebElement.
      */
     public static DriverFactory.DriverType getElementDriverType(WebElement element) {
-        return DriverFactory.DriverType.getDriverType(getElementDriverPlatform(element));
+        return getElementIdentity(element).getDriverType();
     }
 
     /**
@@ -75,8 +170,17 @@ public class PlatformUtilities {
      * If a ClassCastException occurs during the check, it returns false.
      */
     public static boolean isAppiumDriver(WebDriver driver) {
-        try {return driver.getClass().isAssignableFrom(AppiumDriver.class);}
-        catch (ClassCastException exception) {return false;}
+        return driver instanceof AppiumDriver;
+    }
+
+    /**
+     * Checks if the provided WebDriver can execute javascript against the page (browser sessions).
+     *
+     * @param driver The WebDriver to be checked.
+     * @return true if the driver is a javascript executor that is not an AppiumDriver, false otherwise.
+     */
+    public static boolean supportsScripts(WebDriver driver) {
+        return driver instanceof JavascriptExecutor && !(driver instanceof AppiumDriver);
     }
 
     /**
@@ -0,0 +1,62 @@
+package pickleib.utilities.polling;
+
+import pickleib.enums.BackoffType;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes the delay to be applied before a given polling attempt.
+ */
+public class Backoff {
+
+    final BackoffType type;
+    final long initial;
+    final long max;
+    final double multiplier;
+
+    /**
+     * @param type       delay growth strategy
+     * @param initial    delay before the second attempt (ms)
+     * @param max        upper bound of a single delay (ms)
+     * @param multiplier growth factor applied per attempt for exponential and jittered strategies
+     */
+    public Backoff(BackoffType type, long initial, long max, double multiplier) {
+        this.type = type;
+        this.initial = initial;
+        this.max = max;
+        this.multiplier = multiplier;
+    }
+
+    /**
+     * Returns the delay for a given attempt
+     *
+     * @param attempt number of attempts made so far (starting at 1)
+     * @return delay in milliseconds
+     */
+    public long delay(int attempt) {
+        if (type == BackoffType.fixed || attempt <= 1) return Math.min(initial, max);
+        double grown = initial * Math.pow(multiplier, attempt - 1);
+        long delay = (long) Math.min(grown, max);
+        if (type == BackoffType.jittered) {
+            long half = delay / 2;
+            delay = half + ThreadLocalRandom.current().nextLong(half + 1);
+        }
+        return delay;
+    }
+
+    public BackoffType getType() {
+        return type;
+    }
+
+    public long getInitial() {
+        return initial;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+}
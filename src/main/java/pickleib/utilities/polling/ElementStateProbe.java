@@ -0,0 +1,146 @@
+package pickleib.utilities.polling;
+
+import context.ContextStore;
+import io.appium.java_client.AppiumDriver;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.enums.ElementState;
+import utils.Printer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static pickleib.web.driver.WebDriverFactory.getDriverTimeout;
+
+/**
+ * Waits for elements to reach a given {@link ElementState}.
+ * The implicit wait is lowered once per wait (instead of once per attempt) and attempts are spaced by the
+ * {@link PollingEngine} backoff. On browsers, displayed, enabled and selected are read together by a single script,
+ * native (Appium) elements are queried through the element endpoints. If "mutation-waits" are enabled, browser waits
+ * are pushed by a {@link MutationWaiter} in a single round trip, and fall back to polling if the script fails.
+ */
+@SuppressWarnings("unused")
+public class ElementStateProbe {
+
+    static Printer log = new Printer(ElementStateProbe.class);
+
+    /**
+     * determines the implicit wait applied while probing element states, in milliseconds
+     */
+    static long probeImplicitWait = Long.parseLong(ContextStore.get("state-probe-implicit-wait", "500"));
+
+    private static final String STATE_SCRIPT =
+            "var element = arguments[0];" +
+            "var displayed = element.isConnected && element.getClientRects().length > 0;" +
+            "if (displayed) {" +
+            "  var style = window.getComputedStyle(element);" +
+            "  displayed = style.visibility !== 'hidden' && style.visibility !== 'collapse';" +
+            "  for (var node = element; displayed && node && node.nodeType === 1; node = node.parentElement)" +
+            "    if (window.getComputedStyle(node).opacity === '0') displayed = false;" +
+            "}" +
+            "var enabled = !(element.matches && element.matches(':disabled'));" +
+            "var selected = !!(element.checked || element.selected);" +
+            "return [displayed, enabled, selected];";
+
+    final RemoteWebDriver driver;
+    final PollingEngine poller;
+
+    public ElementStateProbe(RemoteWebDriver driver) {
+        this(driver, PollingEngine.getDefaultEngine());
+    }
+
+    public ElementStateProbe(RemoteWebDriver driver, PollingEngine poller) {
+        this.driver = driver;
+        this.poller = poller;
+    }
+
+    /**
+     * Waits until a given element is in expected state
+     *
+     * @param element target element
+     * @param state expected state
+     * @param timeout timeout in milliseconds
+     * @return returns true if the element reached the expected state before the timeout
+     */
+    public boolean await(WebElement element, ElementState state, long timeout) {
+        boolean negativeCheck = state == ElementState.disabled || state == ElementState.unselected || state == ElementState.absent;
+        int[] missingLookups = {0};
+        setImplicitWait(Duration.ofMillis(probeImplicitWait));
+        try {
+            if (MutationWaiter.isEnabled() && isScriptable()) {
+                long initialTime = System.currentTimeMillis();
+                try {
+                    return new MutationWaiter(driver).await(element, state, timeout);
+                }
+                catch (NoSuchElementException | StaleElementReferenceException exception) {
+                    if (negativeCheck) return true;
+                }
+                catch (WebDriverException exception) {
+                    log.warning("Mutation wait failed (" + exception.getClass().getSimpleName() + "), polling...");
+                }
+                timeout = Math.max(0, timeout - (System.currentTimeMillis() - initialTime));
+            }
+            Boolean satisfied = poller.poll("elementIs", timeout, () -> {
+                try {
+                    boolean condition = is(element, state);
+                    missingLookups[0] = 0;
+                    return condition ? Boolean.TRUE : null;
+                }
+                catch (NoSuchElementException | StaleElementReferenceException exception) {
+                    // A negative state is considered reached once the element is missing on consecutive lookups
+                    if (negativeCheck && ++missingLookups[0] > 1) return Boolean.TRUE;
+                    throw exception;
+                }
+            });
+            return satisfied != null;
+        }
+        finally {setImplicitWait(Duration.ofSeconds(getDriverTimeout()));}
+    }
+
+    /**
+     * Probes the current state of a given element
+     *
+     * @param element target element
+     * @param state state to be checked
+     * @return returns true if the element is in the given state
+     */
+    public boolean is(WebElement element, ElementState state) {
+        if (isScriptable()) {
+            List<?> states = (List<?>) driver.executeScript(STATE_SCRIPT, element);
+            boolean displayed = Boolean.TRUE.equals(states.get(0));
+            boolean enabled = Boolean.TRUE.equals(states.get(1));
+            boolean selected = Boolean.TRUE.equals(states.get(2));
+            return switch (state) {
+                case enabled -> enabled;
+                case displayed -> displayed;
+                case selected -> selected;
+                case disabled -> !enabled;
+                case unselected -> !selected;
+                case absent -> !displayed;
+            };
+        }
+        return switch (state) {
+            case enabled -> element.isEnabled();
+            case displayed -> element.isDisplayed();
+            case selected -> element.isSelected();
+            case disabled -> !element.isEnabled();
+            case unselected -> !element.isSelected();
+            case absent -> !element.isDisplayed();
+        };
+    }
+
+    private boolean isScriptable() {
+        return driver != null && !(driver instanceof AppiumDriver);
+    }
+
+    private void setImplicitWait(Duration duration) {
+        if (driver != null) driver.manage().timeouts().implicitlyWait(duration);
+    }
+
+    public static void setProbeImplicitWait(long probeImplicitWait) {
+        ElementStateProbe.probeImplicitWait = probeImplicitWait;
+    }
+}
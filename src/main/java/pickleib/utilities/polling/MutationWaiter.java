@@ -0,0 +1,264 @@
+package pickleib.utilities.polling;
+
+import context.ContextStore;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.enums.ElementState;
+import pickleib.utilities.interfaces.functions.PollingPause;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static pickleib.utilities.platform.PlatformUtilities.getElementDriver;
+import static pickleib.utilities.platform.PlatformUtilities.supportsScripts;
+
+/**
+ * Waits for element conditions inside the browser.
+ * A single asynchronous script installs a MutationObserver and returns as soon as the condition is met (or the
+ * timeout expires), so a wait costs one round trip instead of one per polling attempt. Changes that do not
+ * mutate the DOM (such as input values or styles) are caught by an in-browser recheck interval.
+ * Waits longer than the script timeout of the session are split into several scripts.
+ */
+@SuppressWarnings("unused")
+public class MutationWaiter {
+
+    /**
+     * determines if browser waits are pushed from a MutationObserver instead of being polled
+     */
+    static boolean enabled = Boolean.parseBoolean(ContextStore.get("mutation-waits", "false"));
+
+    /**
+     * determines how often conditions are rechecked inside the browser, in milliseconds
+     */
+    static long recheckInterval = Long.parseLong(ContextStore.get("mutation-wait-recheck-interval", "250"));
+
+    /**
+     * determines the minimum pause between two polling attempts that wake up on DOM mutations, in milliseconds
+     */
+    static long minimumPause = Long.parseLong(ContextStore.get("mutation-wait-minimum-pause", "50"));
+
+    /**
+     * determines the maximum pause between two polling attempts that wake up on DOM mutations, in milliseconds
+     */
+    static long maximumPause = Long.parseLong(ContextStore.get("mutation-wait-maximum-pause", "2000"));
+
+    private static final Map<RemoteWebDriver, Long> scriptTimeouts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final String WAIT_SCRIPT =
+            "var element = arguments[0], condition = arguments[1], name = arguments[2], value = arguments[3];" +
+            "var timeout = arguments[4], interval = arguments[5], callback = arguments[arguments.length - 1];" +
+            "function displayed(node) {" +
+            "  if (!node || !node.isConnected || node.getClientRects().length === 0) return false;" +
+            "  var style = window.getComputedStyle(node);" +
+            "  if (style.visibility === 'hidden' || style.visibility === 'collapse') return false;" +
+            "  for (; node && node.nodeType === 1; node = node.parentElement)" +
+            "    if (window.getComputedStyle(node).opacity === '0') return false;" +
+            "  return true;" +
+            "}" +
+            "function attribute(node) {" +
+            "  var property = node[name];" +
+            "  if (property !== undefined && property !== null && typeof property !== 'object' && typeof property !== 'function')" +
+            "    return String(property);" +
+            "  return node.getAttribute(name);" +
+            "}" +
+            "function check() {" +
+            "  switch (condition) {" +
+            "    case 'displayed': return displayed(element);" +
+            "    case 'absent': return !displayed(element);" +
+            "    case 'enabled': return !element.matches(':disabled');" +
+            "    case 'disabled': return element.matches(':disabled');" +
+            "    case 'selected': return !!(element.checked || element.selected);" +
+            "    case 'unselected': return !(element.checked || element.selected);" +
+            "    case 'attribute': return attribute(element) === value;" +
+            "    case 'text': return (element.innerText || element.textContent || '').trim() === value;" +
+            "    default: return false;" +
+            "  }" +
+            "}" +
+            "if (condition !== 'mutation' && check()) return callback(true);" +
+            "var mutated = false, done = false, poll, timer;" +
+            "var observer = new MutationObserver(function () {" +
+            "  if (condition === 'mutation') mutated = true;" +
+            "  else if (check()) finish(true);" +
+            "});" +
+            "function finish(result) {" +
+            "  if (done) return;" +
+            "  done = true;" +
+            "  observer.disconnect();" +
+            "  clearInterval(poll);" +
+            "  clearTimeout(timer);" +
+            "  callback(result);" +
+            "}" +
+            "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "poll = setInterval(function () {" +
+            "  if (condition === 'mutation' ? mutated : check()) finish(true);" +
+            "}, interval);" +
+            "timer = setTimeout(function () {finish(condition !== 'mutation' && check());}, timeout);";
+
+    /**
+     * Conditions that can be awaited in the browser
+     */
+    public enum Condition {
+        displayed,
+        absent,
+        enabled,
+        disabled,
+        selected,
+        unselected,
+        /**
+         * The attribute (or property) of the element equals the expected value
+         */
+        attribute,
+        /**
+         * The trimmed text of the element equals the expected value
+         */
+        text,
+        /**
+         * Any DOM mutation
+         */
+        mutation;
+
+        public static Condition of(ElementState state) {
+            return valueOf(state.name());
+        }
+    }
+
+    final RemoteWebDriver driver;
+
+    public MutationWaiter(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Waits until a given element is in expected state
+     *
+     * @param element target element
+     * @param state   expected state
+     * @param timeout timeout in milliseconds
+     * @return returns true if the element reached the expected state before the timeout
+     */
+    public boolean await(WebElement element, ElementState state, long timeout) {
+        return await(element, Condition.of(state), null, null, timeout);
+    }
+
+    /**
+     * Waits until an attribute (or property) of a given element equals the expected value
+     *
+     * @param element        target element
+     * @param attributeName  attribute name
+     * @param attributeValue expected attribute value
+     * @param timeout        timeout in milliseconds
+     * @return returns true if the attribute had the expected value before the timeout
+     */
+    public boolean awaitAttribute(WebElement element, String attributeName, String attributeValue, long timeout) {
+        return await(element, Condition.attribute, attributeName, attributeValue, timeout);
+    }
+
+    /**
+     * Waits until the trimmed text of a given element equals the expected text
+     *
+     * @param element target element
+     * @param text    expected text
+     * @param timeout timeout in milliseconds
+     * @return returns true if the element had the expected text before the timeout
+     */
+    public boolean awaitText(WebElement element, String text, long timeout) {
+        return await(element, Condition.text, null, text, timeout);
+    }
+
+    /**
+     * Waits for the next DOM mutation, returning no earlier than the minimum pause
+     *
+     * @param timeout timeout in milliseconds
+     * @return returns true if the DOM was mutated before the timeout
+     */
+    public boolean awaitMutation(long timeout) {
+        return await(null, Condition.mutation, null, null, timeout);
+    }
+
+    /**
+     * Waits for a condition in the browser
+     *
+     * @param element   target element, null for {@link Condition#mutation}
+     * @param condition awaited condition
+     * @param name      attribute name, for {@link Condition#attribute}
+     * @param value     expected value, for {@link Condition#attribute} and {@link Condition#text}
+     * @param timeout   timeout in milliseconds
+     * @return returns true if the condition was met before the timeout
+     * @throws WebDriverException if the script could not be run, for instance because the element could not be
+     *                            located or the page navigated away
+     */
+    public boolean await(WebElement element, Condition condition, String name, String value, long timeout) {
+        long interval = condition == Condition.mutation ? minimumPause : recheckInterval;
+        long deadline = System.currentTimeMillis() + timeout;
+        long remaining = timeout;
+        do {
+            long scriptTimeout = getScriptTimeout(driver);
+            long chunk = Math.min(remaining, Math.max(scriptTimeout - 1000, scriptTimeout / 2));
+            Object result = driver.executeAsyncScript(WAIT_SCRIPT, element, condition.name(), name, value, chunk, interval);
+            if (Boolean.TRUE.equals(result)) return true;
+            remaining = deadline - System.currentTimeMillis();
+        }
+        while (remaining > 0);
+        return false;
+    }
+
+    /**
+     * Returns the script timeout of a session, read once per session
+     *
+     * @param driver driver session
+     * @return returns the script timeout in milliseconds
+     */
+    public static long getScriptTimeout(RemoteWebDriver driver) {
+        return scriptTimeouts.computeIfAbsent(driver, session -> {
+            Duration scriptTimeout = session.manage().timeouts().getScriptTimeout();
+            return scriptTimeout == null ? 30000 : scriptTimeout.toMillis();
+        });
+    }
+
+    /**
+     * Returns a polling pause that wakes up on the next DOM mutation of the session that renders given elements
+     *
+     * @param elements elements the polling attempts read from
+     * @return returns the pause, or null if waits are not pushed (the polling engine then sleeps its backoff delay)
+     */
+    public static PollingPause pauseFor(List<? extends WebElement> elements) {
+        if (!enabled) return null;
+        MutationWaiter[] waiter = {null};
+        return (delay, remaining) -> {
+            try {
+                if (waiter[0] == null && !elements.isEmpty() && getElementDriver(elements.get(0)) instanceof RemoteWebDriver driver)
+                    waiter[0] = supportsScripts(driver) ? new MutationWaiter(driver) : null;
+                if (waiter[0] != null) {
+                    waiter[0].awaitMutation(Math.min(remaining, maximumPause));
+                    return;
+                }
+            }
+            catch (WebDriverException ignored) {}
+            Thread.sleep(Math.min(delay, remaining));
+        };
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        MutationWaiter.enabled = enabled;
+    }
+
+    public static void setRecheckInterval(long recheckInterval) {
+        MutationWaiter.recheckInterval = recheckInterval;
+    }
+
+    public static void setMinimumPause(long minimumPause) {
+        MutationWaiter.minimumPause = minimumPause;
+    }
+
+    public static void setMaximumPause(long maximumPause) {
+        MutationWaiter.maximumPause = maximumPause;
+    }
+}
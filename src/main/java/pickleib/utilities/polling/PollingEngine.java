@@ -0,0 +1,179 @@
+package pickleib.utilities.polling;
+
+import context.ContextStore;
+import org.openqa.selenium.WebDriverException;
+import pickleib.enums.BackoffType;
+import pickleib.exceptions.PickleibException;
+import pickleib.utilities.instrumentation.Instrumentation;
+import pickleib.utilities.interfaces.functions.PollingFunction;
+import pickleib.utilities.interfaces.functions.PollingPause;
+import utils.Printer;
+
+import java.util.concurrent.Semaphore;
+
+import static utils.StringUtilities.Color.GRAY;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Repeats an attempt until it yields a result or the timeout expires, sleeping between attempts
+ * according to a {@link Backoff}. Attempts of all engines share a JVM wide permit pool, which limits the
+ * number of polling iterations (and therefore remote calls) that are in flight at the same time.
+ */
+@SuppressWarnings("unused")
+public class PollingEngine {
+
+    static Printer log = new Printer(PollingEngine.class);
+
+    /**
+     * Engine used by Pickleib acquisition loops, can be replaced through {@link #setDefaultEngine(PollingEngine)}
+     */
+    private static volatile PollingEngine defaultEngine;
+
+    /**
+     * determines the maximum number of concurrent polling attempts, 0 means unlimited
+     */
+    static int maxInFlight = Integer.parseInt(ContextStore.get("polling-max-in-flight", "0"));
+
+    /**
+     * JVM wide attempt permits
+     */
+    private static volatile Semaphore inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight, true) : null;
+
+    private static final ThreadLocal<PollingMetrics> lastMetrics = new ThreadLocal<>();
+
+    final Backoff backoff;
+
+    /**
+     * Creates an engine configured by the "polling-backoff", "polling-interval", "polling-max-interval"
+     * and "polling-multiplier" properties
+     */
+    public PollingEngine() {
+        this(new Backoff(
+                BackoffType.fromString(ContextStore.get("polling-backoff", "exponential")),
+                Long.parseLong(ContextStore.get("polling-interval", "100")),
+                Long.parseLong(ContextStore.get("polling-max-interval", "1000")),
+                Double.parseDouble(ContextStore.get("polling-multiplier", "1.5"))
+        ));
+    }
+
+    public PollingEngine(Backoff backoff) {
+        this.backoff = backoff;
+    }
+
+    /**
+     * Returns the engine used by Pickleib acquisition loops
+     */
+    public static PollingEngine getDefaultEngine() {
+        if (defaultEngine == null)
+            synchronized (PollingEngine.class) {
+                if (defaultEngine == null) defaultEngine = new PollingEngine();
+            }
+        return defaultEngine;
+    }
+
+    public static void setDefaultEngine(PollingEngine engine) {
+        defaultEngine = engine;
+    }
+
+    /**
+     * Sets the maximum number of concurrent polling attempts across the JVM
+     *
+     * @param maxInFlight permit count, 0 or less removes the limit
+     */
+    public static synchronized void setMaxInFlight(int maxInFlight) {
+        PollingEngine.maxInFlight = maxInFlight;
+        inFlight = maxInFlight > 0 ? new Semaphore(maxInFlight, true) : null;
+    }
+
+    public static int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Returns the metrics of the latest polling call made by the current thread
+     */
+    public static PollingMetrics getLastMetrics() {
+        return lastMetrics.get();
+    }
+
+    public Backoff getBackoff() {
+        return backoff;
+    }
+
+    /**
+     * Invokes a given attempt until it returns a non-null result or the timeout expires.
+     * WebDriverExceptions thrown by an attempt are treated as a failed attempt.
+     *
+     * @param description description of the polled condition, used for logs and metrics
+     * @param timeout     timeout in milliseconds
+     * @param function    the attempt
+     * @return returns the first non-null result, or null if the timeout expires
+     * @param <T> result type
+     */
+    public <T> T poll(String description, long timeout, PollingFunction<T> function) {
+        return poll(description, timeout, function, null);
+    }
+
+    /**
+     * Invokes a given attempt until it returns a non-null result or the timeout expires, pausing between attempts
+     * with a given pause instead of sleeping the backoff delay.
+     *
+     * @param description description of the polled condition, used for logs and metrics
+     * @param timeout     timeout in milliseconds
+     * @param function    the attempt
+     * @param pause       pause between attempts, the backoff delay is slept if null
+     * @return returns the first non-null result, or null if the timeout expires
+     * @param <T> result type
+     */
+    public <T> T poll(String description, long timeout, PollingFunction<T> function, PollingPause pause) {
+        PollingMetrics metrics = new PollingMetrics(description);
+        lastMetrics.set(metrics);
+        long initialTime = System.currentTimeMillis();
+        String caughtException = null;
+        try {
+            do {
+                Semaphore permits = inFlight;
+                if (permits != null) {
+                    long permitRequest = System.currentTimeMillis();
+                    permits.acquire();
+                    metrics.permitWait += System.currentTimeMillis() - permitRequest;
+                }
+                try {
+                    metrics.attempts++;
+                    T result = function.attempt();
+                    if (result != null) {
+                        metrics.satisfied = true;
+                        return result;
+                    }
+                }
+                catch (WebDriverException webDriverException) {
+                    String exceptionName = webDriverException.getClass().getName();
+                    if (!exceptionName.equals(caughtException))
+                        log.warning("Iterating... (" + exceptionName + ")");
+                    caughtException = exceptionName;
+                    metrics.lastException = exceptionName;
+                    metrics.exceptions++;
+                    Instrumentation.recordRetry(webDriverException);
+                }
+                finally {
+                    if (permits != null) permits.release();
+                }
+
+                long remaining = timeout - (System.currentTimeMillis() - initialTime);
+                if (remaining <= 0) break;
+                if (pause != null) pause.pause(backoff.delay(metrics.attempts), remaining);
+                else Thread.sleep(Math.min(backoff.delay(metrics.attempts), remaining));
+            }
+            while (System.currentTimeMillis() - initialTime <= timeout);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new PickleibException(highlighted(GRAY, exception.getLocalizedMessage()));
+        }
+        finally {
+            metrics.complete(System.currentTimeMillis() - initialTime);
+        }
+        if (metrics.attempts > 1) log.warning("Iterated " + metrics.attempts + " time(s)!");
+        return null;
+    }
+}
@@ -0,0 +1,119 @@
+package pickleib.utilities.polling;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics of a single polling call, along with the cumulative totals of all calls sharing the same description.
+ */
+public class PollingMetrics {
+
+    private static final Map<String, Summary> summaries = new ConcurrentHashMap<>();
+
+    final String description;
+    int attempts;
+    int exceptions;
+    long elapsed;
+    long permitWait;
+    boolean satisfied;
+    String lastException;
+
+    PollingMetrics(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Adds this call to the cumulative summary of its description
+     */
+    void complete(long elapsed) {
+        this.elapsed = elapsed;
+        Summary summary = summaries.computeIfAbsent(description, key -> new Summary());
+        summary.calls.increment();
+        summary.attempts.add(attempts);
+        summary.exceptions.add(exceptions);
+        summary.elapsed.add(elapsed);
+        summary.permitWait.add(permitWait);
+        if (!satisfied) summary.timeouts.increment();
+    }
+
+    /**
+     * Returns the cumulative summaries of all polling calls, keyed by their descriptions
+     */
+    public static Map<String, Summary> getSummaries() {
+        return summaries;
+    }
+
+    /**
+     * Clears the cumulative summaries
+     */
+    public static void reset() {
+        summaries.clear();
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public int getExceptions() {
+        return exceptions;
+    }
+
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    public long getPermitWait() {
+        return permitWait;
+    }
+
+    public boolean isSatisfied() {
+        return satisfied;
+    }
+
+    public String getLastException() {
+        return lastException;
+    }
+
+    @Override
+    public String toString() {
+        return description + " -> attempts: " + attempts +
+                ", exceptions: " + exceptions +
+                ", elapsed: " + elapsed + "ms" +
+                ", permit wait: " + permitWait + "ms" +
+                ", satisfied: " + satisfied;
+    }
+
+    /**
+     * Cumulative polling totals
+     */
+    public static class Summary {
+        final LongAdder calls = new LongAdder();
+        final LongAdder attempts = new LongAdder();
+        final LongAdder exceptions = new LongAdder();
+        final LongAdder timeouts = new LongAdder();
+        final LongAdder elapsed = new LongAdder();
+        final LongAdder permitWait = new LongAdder();
+
+        public long getCalls() {return calls.sum();}
+        public long getAttempts() {return attempts.sum();}
+        public long getExceptions() {return exceptions.sum();}
+        public long getTimeouts() {return timeouts.sum();}
+        public long getElapsed() {return elapsed.sum();}
+        public long getPermitWait() {return permitWait.sum();}
+
+        @Override
+        public String toString() {
+            return "calls: " + getCalls() +
+                    ", attempts: " + getAttempts() +
+                    ", exceptions: " + getExceptions() +
+                    ", timeouts: " + getTimeouts() +
+                    ", elapsed: " + getElapsed() + "ms" +
+                    ", permit wait: " + getPermitWait() + "ms";
+        }
+    }
+}
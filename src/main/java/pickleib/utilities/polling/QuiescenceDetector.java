@@ -0,0 +1,255 @@
+package pickleib.utilities.polling;
+
+import context.ContextStore;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import pickleib.utilities.Utilities;
+import utils.Printer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import static pickleib.utilities.platform.PlatformUtilities.supportsScripts;
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Waits for a page to settle.
+ * An injected instrumentation tracks pending fetch and XMLHttpRequest calls, pending short timers and DOM mutations.
+ * Timers scheduled from within a tracked timer callback are not tracked, so self-rescheduling timers (tickers, pollers)
+ * do not keep a page busy.
+ * The page is quiet once the document is loaded, nothing is pending, and neither a request nor a mutation happened
+ * during the idle window. The wait runs inside the browser, so it returns as soon as the page settles, in a single
+ * round trip. On Chromium browsers the instrumentation is installed ahead of every document, so requests fired
+ * during the page load are tracked as well. Elsewhere it is installed on the first wait of a document.
+ */
+@SuppressWarnings("unused")
+public class QuiescenceDetector {
+
+    static Printer log = new Printer(QuiescenceDetector.class);
+
+    /**
+     * determines if page loads and settle pauses wait for the page to be quiet, instead of polling the ready state
+     * or sleeping
+     */
+    static boolean enabled = Boolean.parseBoolean(ContextStore.get("quiescence-waits", "false"));
+
+    /**
+     * determines how long the page has to be free of requests and mutations to be quiet, in milliseconds
+     */
+    static long idleWindow = Long.parseLong(ContextStore.get("quiet-idle-window", "300"));
+
+    /**
+     * determines how long a page is waited to be quiet, in milliseconds
+     */
+    static long quietTimeout = Long.parseLong(ContextStore.get("quiet-timeout", "10000"));
+
+    /**
+     * determines the longest timer delay that keeps a page busy, in milliseconds; longer timers are ignored
+     */
+    static long timerThreshold = Long.parseLong(ContextStore.get("quiet-timer-threshold", "1000"));
+
+    /**
+     * determines how long a settle pause waits for the page, as a multiple of the pause it replaces
+     */
+    static double settleFactor = Double.parseDouble(ContextStore.get("quiet-settle-factor", "3"));
+
+    /**
+     * determines a regular expression for request urls that do not keep a page busy (long polling, analytics...)
+     */
+    static String ignoredUrls = ContextStore.get("quiet-ignored-urls", "");
+
+    private static final Set<RemoteWebDriver> preinstalled = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>())
+    );
+
+    private static final String INSTALL_SCRIPT =
+            "if (!window.__pickleibQuiescence) (function () {" +
+            "  var state = window.__pickleibQuiescence = {" +
+            "    requests: 0, timers: 0, lastActivity: Date.now(), lastMutation: Date.now(), timerThreshold: 1000, ignored: ''" +
+            "  };" +
+            "  var pendingTimers = {}, firing = 0;" +
+            "  function ignored(url) {" +
+            "    try {return !!state.ignored && new RegExp(state.ignored).test(String(url));}" +
+            "    catch (error) {return false;}" +
+            "  }" +
+            "  function begin() {state.requests++; state.lastActivity = Date.now();}" +
+            "  function end() {state.requests = Math.max(0, state.requests - 1); state.lastActivity = Date.now();}" +
+            "  if (window.fetch) {" +
+            "    var fetch = window.fetch;" +
+            "    window.fetch = function (input) {" +
+            "      if (ignored(input && input.url ? input.url : input)) return fetch.apply(this, arguments);" +
+            "      begin();" +
+            "      return fetch.apply(this, arguments).then(" +
+            "        function (response) {end(); return response;}," +
+            "        function (error) {end(); throw error;}" +
+            "      );" +
+            "    };" +
+            "  }" +
+            "  var open = XMLHttpRequest.prototype.open, send = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.open = function (method, url) {" +
+            "    this.__pickleibUrl = url;" +
+            "    return open.apply(this, arguments);" +
+            "  };" +
+            "  XMLHttpRequest.prototype.send = function () {" +
+            "    var tracked = !ignored(this.__pickleibUrl);" +
+            "    if (tracked) {begin(); this.addEventListener('loadend', end);}" +
+            "    try {return send.apply(this, arguments);}" +
+            "    catch (error) {if (tracked) {this.removeEventListener('loadend', end); end();} throw error;}" +
+            "  };" +
+            "  var setTimer = window.setTimeout, clearTimer = window.clearTimeout;" +
+            "  window.setTimeout = function (callback, delay) {" +
+            "    if (firing || typeof callback !== 'function' || (delay || 0) > state.timerThreshold)" +
+            "      return setTimer.apply(window, arguments);" +
+            "    var args = Array.prototype.slice.call(arguments, 2), id;" +
+            "    state.timers++;" +
+            "    id = setTimer(function () {" +
+            "      if (pendingTimers[id]) {delete pendingTimers[id]; state.timers--;}" +
+            "      firing++;" +
+            "      try {callback.apply(window, args);}" +
+            "      finally {firing--;}" +
+            "    }, delay);" +
+            "    pendingTimers[id] = true;" +
+            "    return id;" +
+            "  };" +
+            "  window.clearTimeout = function (id) {" +
+            "    if (pendingTimers[id]) {delete pendingTimers[id]; state.timers--;}" +
+            "    return clearTimer.apply(window, arguments);" +
+            "  };" +
+            "  new MutationObserver(function () {state.lastMutation = Date.now();})" +
+            "    .observe(document, {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "})();";
+
+    private static final String WAIT_SCRIPT =
+            "var idle = arguments[0], timeout = arguments[1], callback = arguments[arguments.length - 1];" +
+            INSTALL_SCRIPT +
+            "var state = window.__pickleibQuiescence, start = Date.now();" +
+            "state.timerThreshold = arguments[2];" +
+            "state.ignored = arguments[3];" +
+            "function report(quiet) {" +
+            "  return {quiet: quiet, requests: state.requests, timers: state.timers, elapsed: Date.now() - start};" +
+            "}" +
+            "function quiet() {" +
+            "  var now = Date.now();" +
+            "  return document.readyState === 'complete' && state.requests === 0 && state.timers === 0 &&" +
+            "    now - state.lastMutation >= idle && now - state.lastActivity >= idle;" +
+            "}" +
+            "var poll = window.setInterval(function () {" +
+            "  if (quiet()) {window.clearInterval(poll); callback(report(true));}" +
+            "  else if (Date.now() - start >= timeout) {window.clearInterval(poll); callback(report(false));}" +
+            "}, Math.max(10, Math.min(50, idle)));";
+
+    final RemoteWebDriver driver;
+
+    public QuiescenceDetector(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Waits until the page is quiet, using the "quiet-idle-window" and "quiet-timeout" properties
+     *
+     * @return returns true if the page settled before the timeout
+     */
+    public boolean waitUntilQuiet() {
+        return waitUntilQuiet(idleWindow, quietTimeout);
+    }
+
+    /**
+     * Waits until the page is quiet
+     *
+     * @param idleWindow time the page has to be free of requests and mutations, in milliseconds
+     * @param timeout    timeout in milliseconds
+     * @return returns true if the page settled before the timeout
+     */
+    public boolean waitUntilQuiet(long idleWindow, long timeout) {
+        preinstall();
+        long initialTime = System.currentTimeMillis();
+        long remaining = timeout;
+        Map<?, ?> report = null;
+        do {
+            long scriptTimeout = MutationWaiter.getScriptTimeout(driver);
+            long chunk = Math.min(remaining, Math.max(scriptTimeout - 1000, scriptTimeout / 2));
+            try {
+                Object result = driver.executeAsyncScript(WAIT_SCRIPT, idleWindow, chunk, timerThreshold, ignoredUrls);
+                if (result instanceof Map<?, ?> map) {
+                    report = map;
+                    if (Boolean.TRUE.equals(map.get("quiet"))) {
+                        log.info("Page settled in " + highlighted(BLUE, (System.currentTimeMillis() - initialTime) + "ms"));
+                        return true;
+                    }
+                }
+            }
+            catch (NoSuchSessionException | UnreachableBrowserException exception) {throw exception;}
+            catch (WebDriverException exception) {
+                // The document was replaced while waiting, the next document is instrumented by the next script
+                Utilities.waitFor(Math.min(idleWindow, Math.max(0, remaining)) / 1000.0);
+            }
+            remaining = timeout - (System.currentTimeMillis() - initialTime);
+        }
+        while (remaining > 0);
+        log.warning("Page did not settle in " + timeout + "ms" + (report == null ? "" : highlighted(GRAY,
+                " (pending requests: " + report.get("requests") + ", pending timers: " + report.get("timers") + ")"
+        )));
+        return false;
+    }
+
+    /**
+     * Installs the instrumentation ahead of every new document, on Chromium browsers
+     */
+    private void preinstall() {
+        if (!(driver instanceof ChromiumDriver chromiumDriver) || !preinstalled.add(driver)) return;
+        try {chromiumDriver.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", INSTALL_SCRIPT));}
+        catch (WebDriverException exception) {log.warning("Could not preinstall the quiescence instrumentation: " + exception.getMessage());}
+    }
+
+    /**
+     * Lets the page settle after an interaction.
+     * Waits for the page to be quiet if quiescence waits are enabled and the driver runs scripts, sleeps otherwise.
+     * The wait is limited to the sleep duration times the "quiet-settle-factor" property.
+     *
+     * @param driver  driver session
+     * @param seconds sleep duration used if the page cannot be watched
+     */
+    public static void settle(RemoteWebDriver driver, double seconds) {
+        if (enabled && supportsScripts(driver))
+            new QuiescenceDetector(driver).waitUntilQuiet(idleWindow, Math.min(quietTimeout, (long) (seconds * settleFactor * 1000)));
+        else Utilities.waitFor(seconds);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        QuiescenceDetector.enabled = enabled;
+    }
+
+    public static long getIdleWindow() {
+        return idleWindow;
+    }
+
+    public static void setIdleWindow(long idleWindow) {
+        QuiescenceDetector.idleWindow = idleWindow;
+    }
+
+    public static void setQuietTimeout(long quietTimeout) {
+        QuiescenceDetector.quietTimeout = quietTimeout;
+    }
+
+    public static void setTimerThreshold(long timerThreshold) {
+        QuiescenceDetector.timerThreshold = timerThreshold;
+    }
+
+    public static void setSettleFactor(double settleFactor) {
+        QuiescenceDetector.settleFactor = settleFactor;
+    }
+
+    public static void setIgnoredUrls(String ignoredUrls) {
+        QuiescenceDetector.ignoredUrls = ignoredUrls;
+    }
+}
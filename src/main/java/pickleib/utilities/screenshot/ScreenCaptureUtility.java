@@ -1,5 +1,6 @@
 package pickleib.utilities.screenshot;
 
+import context.ContextStore;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
@@ -13,12 +14,18 @@ public class ScreenCaptureUtility {
     static Printer log = new Printer(ScreenCaptureUtility.class);
 
     /**
-     * Captures screen
+     * screenshots are written by the background {@link ScreenshotWriter} if true
+     */
+    static boolean asyncCapture = Boolean.parseBoolean(ContextStore.get("screenshot-async", "false"));
+
+    /**
+     * Captures screen, asynchronous captures are written in the format configured by the "screenshot-format" property
      * @param name screenshot name
      * @param driver session driver
      * @return returns the screenshot file
      */
     public static File captureScreen(String name, String extension, RemoteWebDriver driver) {
+        if (asyncCapture) return captureScreenAsync(name, driver);
         try {
             log.info("Capturing page...");
             if (!extension.contains(".")) extension = "." + extension;
@@ -59,4 +66,45 @@ public class ScreenCaptureUtility {
             return null;
         }
     }
+
+    /**
+     * Captures screen and hands the image to the background {@link ScreenshotWriter}.
+     * The image is written in the format configured by the "screenshot-format" property.
+     *
+     * @param name screenshot name
+     * @param driver session driver
+     * @return returns the file the screenshot will be written to, or null if the capture was dropped
+     */
+    public static File captureScreenAsync(String name, RemoteWebDriver driver) {
+        return captureScreenAsync(name, ScreenshotWriter.extension(), driver);
+    }
+
+    /**
+     * Captures screen and hands the image to the background {@link ScreenshotWriter}
+     *
+     * @param name screenshot name
+     * @param extension file extension (png, jpg or jpeg), decides the image format
+     * @param driver session driver
+     * @return returns the file the screenshot will be written to, or null if the capture was dropped
+     */
+    public static File captureScreenAsync(String name, String extension, RemoteWebDriver driver) {
+        try {
+            log.info("Capturing page...");
+            name += "#"+ NumericUtilities.randomNumber(1,10000) + (extension.startsWith(".") ? extension : "." + extension);
+            byte[] screenshot = ((TakesScreenshot)driver).getScreenshotAs(OutputType.BYTES);
+            return ScreenshotWriter.getDefaultWriter().submit(screenshot, new File("screenshots", name), extension);
+        }
+        catch (Exception exception){
+            log.error("Could not capture screen", exception);
+            return null;
+        }
+    }
+
+    public static boolean isAsyncCapture() {
+        return asyncCapture;
+    }
+
+    public static void setAsyncCapture(boolean asyncCapture) {
+        ScreenCaptureUtility.asyncCapture = asyncCapture;
+    }
 }
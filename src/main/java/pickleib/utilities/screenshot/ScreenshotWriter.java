@@ -0,0 +1,291 @@
+package pickleib.utilities.screenshot;
+
+import context.ContextStore;
+import utils.Printer;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes screenshots on a background thread.
+ * Captures are deduplicated and queued as raw PNG bytes, then encoded (png or jpeg) and written to disk by the writer.
+ * A duplicate of a recent capture is not queued, the file of the original capture is returned instead.
+ * A full queue never blocks the capturing thread: captures are downsampled once the queue is three quarters full
+ * (if the overflow policy is "downsample") and dropped once it is full.
+ */
+@SuppressWarnings("unused")
+public class ScreenshotWriter {
+
+    static Printer log = new Printer(ScreenshotWriter.class);
+
+    /**
+     * determines the capacity of the writer queue
+     */
+    static int queueSize = Integer.parseInt(ContextStore.get("screenshot-queue-size", "16"));
+
+    /**
+     * determines the image format screenshots are written in (png or jpeg)
+     */
+    static String format = ContextStore.get("screenshot-format", "png");
+
+    /**
+     * determines the jpeg quality, between 0 and 1
+     */
+    static float quality = Float.parseFloat(ContextStore.get("screenshot-quality", "0.85"));
+
+    /**
+     * determines the behaviour of a filling queue (drop or downsample)
+     */
+    static String overflowPolicy = ContextStore.get("screenshot-overflow", "downsample");
+
+    private static volatile ScreenshotWriter defaultWriter;
+
+    private final BlockingQueue<Capture> queue;
+    private final Map<String, File> recentDigests = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, File> eldest) {
+            return size() > 64;
+        }
+    });
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder downsampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+
+    public ScreenshotWriter(int queueSize) {
+        queue = new ArrayBlockingQueue<>(queueSize);
+        writer = new Thread(this::drain, "pickleib-screenshot-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(10000), "pickleib-screenshot-flush"));
+    }
+
+    /**
+     * Returns the writer used by {@link ScreenCaptureUtility}
+     */
+    public static ScreenshotWriter getDefaultWriter() {
+        if (defaultWriter == null)
+            synchronized (ScreenshotWriter.class) {
+                if (defaultWriter == null) defaultWriter = new ScreenshotWriter(queueSize);
+            }
+        return defaultWriter;
+    }
+
+    /**
+     * Queues a screenshot without blocking, in the configured format
+     *
+     * @param screenshot PNG bytes, as returned by the driver
+     * @param destination target file, its extension is replaced by the configured format
+     * @return returns the file the screenshot will be written to, or null if the capture was dropped
+     */
+    public File submit(byte[] screenshot, File destination) {
+        return submit(screenshot, destination, extension());
+    }
+
+    /**
+     * Queues a screenshot without blocking
+     *
+     * @param screenshot PNG bytes, as returned by the driver
+     * @param destination target file, its extension is replaced by the given extension
+     * @param extension file extension (png, jpg or jpeg), decides the image format
+     * @return returns the file the screenshot will be written to (the file of the original capture for duplicates),
+     * or null if the capture was dropped
+     */
+    public File submit(byte[] screenshot, File destination, String extension) {
+        String digest = digest(screenshot);
+        File original = recentDigests.get(digest);
+        if (original != null) {
+            duplicates.increment();
+            log.info("Skipped duplicate screenshot " + destination.getName() + ", see " + original.getName());
+            return original;
+        }
+        boolean downsample = overflowPolicy.equalsIgnoreCase("downsample") && queue.remainingCapacity() <= queueCapacity() / 4;
+        File target = withExtension(destination, normalise(extension));
+        pending.incrementAndGet();
+        if (!queue.offer(new Capture(screenshot, target, downsample))) {
+            pending.decrementAndGet();
+            dropped.increment();
+            log.warning("Screenshot queue is full, dropped " + destination.getName());
+            return null;
+        }
+        recentDigests.put(digest, target);
+        if (downsample) downsampled.increment();
+        return target;
+    }
+
+    /**
+     * Waits for the queued screenshots to be written
+     *
+     * @param timeout maximum wait duration in milliseconds
+     * @return true if all queued screenshots were written
+     */
+    public boolean flush(long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (pending.get() > 0 && System.currentTimeMillis() < deadline) {
+            try {TimeUnit.MILLISECONDS.sleep(10);}
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return pending.get() == 0;
+    }
+
+    private void drain() {
+        while (true) {
+            Capture capture;
+            try {capture = queue.take();}
+            catch (InterruptedException exception) {return;}
+            try {write(capture);}
+            catch (Exception exception) {log.error("Could not write screenshot " + capture.destination.getName(), exception);}
+            finally {pending.decrementAndGet();}
+        }
+    }
+
+    private void write(Capture capture) throws IOException {
+        File directory = capture.destination.getParentFile();
+        if (directory != null) Files.createDirectories(directory.toPath());
+
+        boolean png = capture.destination.getName().endsWith(".png");
+        if (!capture.downsample && png) Files.write(capture.destination.toPath(), capture.screenshot);
+        else {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(capture.screenshot));
+            if (image == null) throw new IOException("Screenshot bytes could not be decoded");
+            if (capture.downsample) image = scale(image, 0.5);
+            encode(image, capture.destination, png);
+        }
+        written.increment();
+        log.info("Screenshot saved as; " + capture.destination.getName() + " at the \"" + directory + "\" file.");
+    }
+
+    private static void encode(BufferedImage image, File destination, boolean png) throws IOException {
+        if (png) {
+            ImageIO.write(image, "png", destination);
+            return;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) throw new IOException("No jpeg writer is available");
+        ImageWriter writer = writers.next();
+        ImageWriteParam parameters = writer.getDefaultWriteParam();
+        parameters.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        parameters.setCompressionQuality(Math.max(0f, Math.min(1f, quality)));
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(destination)) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(rgb, null, null), parameters);
+        }
+        finally {writer.dispose();}
+    }
+
+    private static BufferedImage scale(BufferedImage image, double factor) {
+        int width = Math.max(1, (int) (image.getWidth() * factor));
+        int height = Math.max(1, (int) (image.getHeight() * factor));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    private static String digest(byte[] bytes) {
+        try {return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));}
+        catch (NoSuchAlgorithmException exception) {return String.valueOf(Arrays.hashCode(bytes));}
+    }
+
+    private int queueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    /**
+     * Returns the file extension of the configured format
+     */
+    static String extension() {
+        return normalise(format);
+    }
+
+    private static String normalise(String extension) {
+        if (extension.startsWith(".")) extension = extension.substring(1);
+        return extension.equalsIgnoreCase("jpeg") || extension.equalsIgnoreCase("jpg") ? "jpg" : "png";
+    }
+
+    private static File withExtension(File file, String extension) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        if (dot > 0) name = name.substring(0, dot);
+        return new File(file.getParentFile(), name + "." + extension);
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    public long getDownsampled() {
+        return downsampled.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    public static void setFormat(String format) {
+        ScreenshotWriter.format = format;
+    }
+
+    public static void setQuality(float quality) {
+        ScreenshotWriter.quality = quality;
+    }
+
+    public static void setOverflowPolicy(String overflowPolicy) {
+        ScreenshotWriter.overflowPolicy = overflowPolicy;
+    }
+
+    static class Capture {
+        final byte[] screenshot;
+        final File destination;
+        final boolean downsample;
+
+        Capture(byte[] screenshot, File destination, boolean downsample) {
+            this.screenshot = screenshot;
+            this.destination = destination;
+            this.downsample = downsample;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.openqa.selenium.devtools.v85.network.model.Headers;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.FluentWait;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import pickleib.driver.DriverRegistry;
 import pickleib.utilities.PropertyLoader;
 import properties.PropertiesReader;
 import utils.Printer;
@@ -25,30 +26,46 @@ public class PickleibWebDriver {
 	static {PropertyLoader.load();}
 
 	/**
-	 * RemoteWebDriver instance
+	 * RemoteWebDriver instances, one per thread or scenario
 	 */
-	private static RemoteWebDriver driver;
+	private static final DriverRegistry<RemoteWebDriver> drivers = new DriverRegistry<>();
 
 	/**
 	 * WebDriverWait instance
 	 */
 	private static FluentWait<RemoteWebDriver> wait;
 
+	/**
+	 * Returns the driver of the current thread or scenario
+	 *
+	 * @return returns the driver session
+	 */
 	public static RemoteWebDriver get(){
-		return driver;
+		return drivers.get();
+	}
+
+	public static DriverRegistry<RemoteWebDriver> getRegistry(){
+		return drivers;
 	}
 
 	static PropertiesReader reader = new PropertiesReader("properties-from-pom.properties");
 	public static Printer log = new Printer(PickleibWebDriver.class);
 
 	/**
-	 * Initializes a specified type of driver
+	 * Initializes a specified type of driver for the current thread or scenario.
+	 * The driver is taken from the {@link WebDriverPool} if the "driver-pool" property is enabled.
 	 *
 	 * @param browserType driver type
 	 */
 	public static void initialize(WebDriverFactory.BrowserType browserType){
 		log.info("Initializing " + markup(StringUtilities.Color.PURPLE, browserType.getDriverName()) + " driver...");
-		driver = WebDriverFactory.getDriver(browserType);
+		for (RemoteWebDriver orphan : drivers.removeOrphans()) {
+			log.warning("Terminating the driver of a finished thread that was not terminated");
+			try {release(orphan);}
+			catch (RuntimeException exception) {log.warning("Could not terminate the orphaned driver: " + exception.getMessage());}
+		}
+		if (WebDriverPool.isEnabled()) drivers.register(WebDriverPool.getDefaultPool().acquire(browserType));
+		else drivers.register(WebDriverFactory.getDriver(browserType));
 	}
 
 	/**
@@ -68,7 +85,7 @@ public class PickleibWebDriver {
 	@Deprecated(since = "1.5.6")
 	public static void initialize(String id, String password, WebDriverFactory.BrowserType browserType){ //Only works with chrome!
 		initialize(browserType);
-		DevTools dev = ((ChromeDriver) driver).getDevTools();
+		DevTools dev = ((ChromeDriver) get()).getDevTools();
 		dev.createSession();
 		dev.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
 		Map<String, Object> map = new HashMap<>();
@@ -77,10 +94,19 @@ public class PickleibWebDriver {
 	}
 
 	/**
-	 * Quits the driver session
+	 * Quits the driver session of the current thread or scenario, or returns it to the {@link WebDriverPool}
 	 */
 	public static void terminate(){
 		log.info("Terminating driver...");
-		driver.quit();
+		RemoteWebDriver driver = drivers.remove();
+		if (driver != null) release(driver);
+	}
+
+	/**
+	 * Returns a driver session to the {@link WebDriverPool} if the pool is enabled, quits it otherwise
+	 */
+	private static void release(RemoteWebDriver driver){
+		if (WebDriverPool.isEnabled()) WebDriverPool.getDefaultPool().release(driver);
+		else driver.quit();
 	}
 }
\ No newline at end of file
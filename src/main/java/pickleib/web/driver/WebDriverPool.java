@@ -0,0 +1,362 @@
+package pickleib.web.driver;
+
+import context.ContextStore;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.Printer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Pool of warm browser sessions.
+ * Sessions are created in the background ahead of demand, reset when they are released (storage, cookies,
+ * extra windows, about:blank) and handed out again. Sessions that fail the health check or exceed the maximum
+ * age are quit instead of being reused.
+ * On Chromium browsers the cookies and storage of every origin are cleared through the DevTools protocol. Other
+ * browsers can only clear the current origin, so their sessions are not reused once more than one origin is seen
+ * (open windows and their referrers).
+ */
+@SuppressWarnings("unused")
+public class WebDriverPool {
+
+    static Printer log = new Printer(WebDriverPool.class);
+
+    /**
+     * determines if {@link PickleibWebDriver} acquires its sessions from the pool
+     */
+    static boolean enabled = Boolean.parseBoolean(ContextStore.get("driver-pool", "false"));
+
+    /**
+     * determines the number of idle sessions kept warm per browser type
+     */
+    static int poolSize = Integer.parseInt(ContextStore.get("driver-pool-size", "2"));
+
+    /**
+     * determines the maximum session age in milliseconds, sessions older than this are not reused
+     */
+    static long maxAge = Long.parseLong(ContextStore.get("driver-pool-max-age", "600000"));
+
+    private static volatile WebDriverPool defaultPool;
+
+    private final Map<WebDriverFactory.BrowserType, BlockingDeque<PooledSession>> idleSessions = new ConcurrentHashMap<>();
+    private final Map<WebDriverFactory.BrowserType, AtomicInteger> pendingSessions = new ConcurrentHashMap<>();
+    private final Map<RemoteWebDriver, PooledSession> leasedSessions = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Function<WebDriverFactory.BrowserType, RemoteWebDriver> factory;
+    private final ExecutorService warmer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pickleib-driver-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder created = new LongAdder();
+
+    private volatile boolean closed;
+
+    public WebDriverPool() {
+        this(WebDriverFactory::getDriver);
+    }
+
+    /**
+     * @param factory creates the sessions of a given browser type
+     */
+    public WebDriverPool(Function<WebDriverFactory.BrowserType, RemoteWebDriver> factory) {
+        this.factory = factory;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "pickleib-driver-pool-shutdown"));
+    }
+
+    /**
+     * Returns the pool used by {@link PickleibWebDriver}
+     */
+    public static WebDriverPool getDefaultPool() {
+        if (defaultPool == null)
+            synchronized (WebDriverPool.class) {
+                if (defaultPool == null) defaultPool = new WebDriverPool();
+            }
+        return defaultPool;
+    }
+
+    /**
+     * Starts warming sessions of a given browser type in the background, up to the pool size
+     *
+     * @param browserType browser type
+     */
+    public void preWarm(WebDriverFactory.BrowserType browserType) {
+        browserType = resolve(browserType);
+        int idle = idleSessions(browserType).size();
+        AtomicInteger pending = pendingSessions.computeIfAbsent(browserType, type -> new AtomicInteger());
+        WebDriverFactory.BrowserType type = browserType;
+        while (!closed && idle + pending.get() < poolSize) {
+            pending.incrementAndGet();
+            warmer.submit(() -> {
+                try {
+                    PooledSession session = new PooledSession(type, factory.apply(type));
+                    created.increment();
+                    if (closed) session.quit();
+                    else idleSessions(type).offer(session);
+                }
+                catch (RuntimeException exception) {log.warning("Could not warm a " + type.getDriverName() + " session: " + exception.getMessage());}
+                finally {pending.decrementAndGet();}
+            });
+        }
+    }
+
+    /**
+     * Hands out a healthy session of a given browser type, creating one if the pool has none
+     *
+     * @param browserType browser type
+     * @return returns the session
+     */
+    public RemoteWebDriver acquire(WebDriverFactory.BrowserType browserType) {
+        browserType = resolve(browserType);
+        PooledSession session;
+        while ((session = idleSessions(browserType).poll()) != null) {
+            if (session.isExpired() || !session.isHealthy()) {
+                evict(session);
+                continue;
+            }
+            hits.increment();
+            log.info("Reusing a warm " + highlighted(PURPLE, browserType.getDriverName()) + highlighted(GRAY, " session"));
+            return lease(session);
+        }
+        misses.increment();
+        session = new PooledSession(browserType, factory.apply(browserType));
+        created.increment();
+        return lease(session);
+    }
+
+    /**
+     * Returns a session to the pool. The session is reset and kept warm, or quit if it cannot be reused.
+     *
+     * @param driver session acquired from this pool
+     */
+    public void release(RemoteWebDriver driver) {
+        PooledSession session = leasedSessions.remove(driver);
+        if (session == null) {
+            driver.quit();
+            return;
+        }
+        if (closed || session.isExpired() || idleSessions(session.browserType).size() >= poolSize || !session.reset()) {
+            evict(session);
+            preWarm(session.browserType);
+            return;
+        }
+        idleSessions(session.browserType).offer(session);
+    }
+
+    /**
+     * Quits all idle sessions and stops warming new ones. Leased sessions are quit when released.
+     */
+    public void shutdown() {
+        closed = true;
+        warmer.shutdownNow();
+        for (BlockingDeque<PooledSession> sessions : idleSessions.values()) {
+            PooledSession session;
+            while ((session = sessions.poll()) != null) session.quit();
+        }
+    }
+
+    private RemoteWebDriver lease(PooledSession session) {
+        session.uses++;
+        leasedSessions.put(session.driver, session);
+        preWarm(session.browserType);
+        return session.driver;
+    }
+
+    private void evict(PooledSession session) {
+        evictions.increment();
+        session.quit();
+    }
+
+    private BlockingDeque<PooledSession> idleSessions(WebDriverFactory.BrowserType browserType) {
+        return idleSessions.computeIfAbsent(browserType, type -> new LinkedBlockingDeque<>());
+    }
+
+    private static WebDriverFactory.BrowserType resolve(WebDriverFactory.BrowserType browserType) {
+        if (browserType != null) return browserType;
+        WebDriverFactory.BrowserType configured = WebDriverFactory.BrowserType.fromString(WebDriverFactory.browser);
+        return configured != null ? configured : WebDriverFactory.BrowserType.CHROME;
+    }
+
+    /**
+     * Number of sessions handed out from the pool
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of sessions created on demand because the pool had no idle session
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of sessions quit because they were unhealthy, expired or could not be reset
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getCreated() {
+        return created.sum();
+    }
+
+    public int getIdleCount() {
+        return idleSessions.values().stream().mapToInt(BlockingDeque::size).sum();
+    }
+
+    public int getLeasedCount() {
+        return leasedSessions.size();
+    }
+
+    /**
+     * Returns the pool hit rate
+     *
+     * @return returns hits / (hits + misses), or 0 if no session was acquired yet
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        WebDriverPool.enabled = enabled;
+    }
+
+    public static int getPoolSize() {
+        return poolSize;
+    }
+
+    public static void setPoolSize(int poolSize) {
+        WebDriverPool.poolSize = poolSize;
+    }
+
+    public static long getMaxAge() {
+        return maxAge;
+    }
+
+    public static void setMaxAge(long maxAge) {
+        WebDriverPool.maxAge = maxAge;
+    }
+
+    static class PooledSession {
+        final WebDriverFactory.BrowserType browserType;
+        final RemoteWebDriver driver;
+        final long createdAt = System.currentTimeMillis();
+        int uses;
+
+        PooledSession(WebDriverFactory.BrowserType browserType, RemoteWebDriver driver) {
+            this.browserType = browserType;
+            this.driver = driver;
+        }
+
+        boolean isExpired() {
+            return maxAge > 0 && System.currentTimeMillis() - createdAt > maxAge;
+        }
+
+        boolean isHealthy() {
+            try {
+                driver.getWindowHandle();
+                return true;
+            }
+            catch (WebDriverException exception) {return false;}
+        }
+
+        /**
+         * Closes extra windows, clears storage and cookies, and navigates to about:blank.
+         * Chromium sessions are cleared for every origin through CDP, other sessions only for the current origin,
+         * and are not reset if more than one origin was seen.
+         *
+         * @return true if the session was reset
+         */
+        boolean reset() {
+            try {
+                Set<String> origins = new LinkedHashSet<>();
+                List<String> handles = new ArrayList<>(driver.getWindowHandles());
+                for (String handle : handles.subList(1, handles.size())) {
+                    driver.switchTo().window(handle);
+                    origins.addAll(originsOf(driver));
+                    driver.close();
+                }
+                driver.switchTo().window(handles.get(0));
+                origins.addAll(originsOf(driver));
+                if (driver instanceof HasCdp cdpDriver) clearBrowserData(cdpDriver, origins);
+                else if (origins.size() > 1) {
+                    log.info("Session visited " + origins.size() + " origins and cannot be cleared, it will not be reused");
+                    return false;
+                }
+                else {
+                    driver.executeScript(
+                            "try {window.localStorage.clear(); window.sessionStorage.clear();} catch (error) {}"
+                    );
+                    driver.manage().deleteAllCookies();
+                }
+                driver.get("about:blank");
+                return true;
+            }
+            catch (WebDriverException exception) {
+                log.warning("Could not reset the session (" + exception.getClass().getSimpleName() + ")");
+                return false;
+            }
+        }
+
+        void quit() {
+            try {driver.quit();}
+            catch (WebDriverException ignored) {}
+        }
+
+        /**
+         * Clears the cookies of all domains and the storage of every origin that has cookies or was seen in a window
+         */
+        private static void clearBrowserData(HasCdp driver, Set<String> origins) {
+            Object cookies = driver.executeCdpCommand("Network.getAllCookies", Map.of()).get("cookies");
+            if (cookies instanceof List<?> cookieList) for (Object cookie : cookieList) {
+                if (!(cookie instanceof Map<?, ?> cookieMap) || !(cookieMap.get("domain") instanceof String domain)) continue;
+                String host = domain.startsWith(".") ? domain.substring(1) : domain;
+                origins.add("https://" + host);
+                origins.add("http://" + host);
+            }
+            for (String origin : origins)
+                driver.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+            driver.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        }
+
+        /**
+         * Returns the origin of the current window and of its referrer, blank pages have no origin
+         */
+        private static List<String> originsOf(RemoteWebDriver driver) {
+            Object origins = driver.executeScript(
+                    "var origins = [window.location.origin];" +
+                    "try {if (document.referrer) origins.push(new URL(document.referrer).origin);} catch (error) {}" +
+                    "return origins;"
+            );
+            List<String> result = new ArrayList<>();
+            if (origins instanceof List<?> originList) for (Object origin : originList)
+                if (origin instanceof String value && value.contains("://")) result.add(value);
+            return result;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.openqa.selenium.support.ui.FluentWait;
 import pickleib.enums.ElementState;
+import pickleib.enums.FillStrategy;
 import pickleib.enums.InteractionType;
 import pickleib.enums.Navigation;
 import pickleib.exceptions.PickleibException;
@@ -16,6 +17,7 @@ import pickleib.exceptions.PickleibVerificationException;
 import pickleib.utilities.element.acquisition.ElementAcquisition;
 import pickleib.utilities.interfaces.PolymorphicUtilities;
 import pickleib.web.driver.PickleibWebDriver;
+import pickleib.web.utilities.FormFiller;
 import pickleib.web.utilities.WebUtilities;
 
 import java.util.List;
@@ -23,6 +25,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import static pickleib.utilities.platform.PlatformUtilities.supportsScripts;
 import static utils.StringUtilities.Color.BLUE;
 import static utils.StringUtilities.Color.GRAY;
 import static utils.StringUtilities.contextCheck;
@@ -835,6 +838,8 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
      *
      * <p>
      * For 'fill' interactions, an additional boolean parameter is added to specify whether to clear the input field before filling.
+     * If batched forms are enabled, consecutive 'fill' interactions are filled as one batch, the optional
+     * "Fill Strategy" value (auto, script, keys) overrides the fill strategy of a field.
      * </p>
      *
      * @param bundles  The list of bundles, where each bundle contains information for a specific interaction.
@@ -843,8 +848,23 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
      * @throws EnumConstantNotPresentException If an unsupported interaction type is encountered in the bundle.
      */
     public void bundleInteraction(List<Bundle<String, WebElement, Map<String, String>>> bundles, String pageName, boolean scroll) {
+        FormFiller form = FormFiller.isEnabled() && supportsScripts(driver) ? new FormFiller(driver) : null;
         for (Bundle<String, WebElement, Map<String, String>> bundle : bundles) {
             InteractionType interactionType = InteractionType.valueOf(bundle.theta().get("Interaction Type"));
+            if (form != null && interactionType == InteractionType.fill) {
+                String strategy = bundle.theta().get("Fill Strategy");
+                form.add(
+                        bundle.beta(),
+                        bundle.alpha(),
+                        bundle.theta().get("Input"),
+                        strategy == null ? null : FillStrategy.valueOf(strategy)
+                );
+                continue;
+            }
+            if (form != null && !form.isEmpty()) {
+                log.info("Filling form on " + highlighted(BLUE, pageName));
+                form.fill();
+            }
             switch (interactionType) {
                 case click -> clickElement(bundle.beta(), bundle.alpha(), pageName, scroll);
                 case fill ->
@@ -860,6 +880,10 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
                 default -> throw new EnumConstantNotPresentException(InteractionType.class, interactionType.name());
             }
         }
+        if (form != null && !form.isEmpty()) {
+            log.info("Filling form on " + highlighted(BLUE, pageName));
+            form.fill();
+        }
     }
 
     /**
@@ -1050,6 +1074,22 @@ public class WebInteractions extends WebUtilities implements PolymorphicUtilitie
         super.waitUntilLoads(waitingTime);
     }
 
+    /**
+     * Waits for the page to be quiet, no pending requests or timers and no DOM mutations for {idle window} milliseconds
+     *
+     * @param idleWindow time the page has to be idle, in milliseconds
+     * @param timeout    timeout in milliseconds
+     */
+    public void waitUntilPageIsQuiet(long idleWindow, long timeout) {
+        log.info("Waiting for the page to be idle for " +
+                highlighted(BLUE, idleWindow + "ms") +
+                highlighted(GRAY, " up to ") +
+                highlighted(BLUE, timeout + "ms")
+        );
+        if (!super.waitUntilQuiet(idleWindow, timeout))
+            log.warning("Page is not quiet after " + timeout + "ms, proceeding...");
+    }
+
     /**
      * Perform a JS click on an element {element name} on the {page name}
      *
@@ -0,0 +1,238 @@
+package pickleib.web.utilities;
+
+import context.ContextStore;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.enums.FillStrategy;
+import pickleib.exceptions.PickleibException;
+import pickleib.mobile.snapshot.PageSourceSnapshot;
+import utils.Printer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.contextCheck;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Fills a form in batches.
+ * A first script checks that every field can be filled (enabled, editable and displayed), then clears every field
+ * and sets the values of the fields filled by script (dispatching input and change events). Native sendKeys calls are
+ * made only for the fields that need real key events, and an optional final script reads back the script filled values
+ * for verification. A form of any size therefore costs one or two round trips, plus one per field that is typed.
+ * The strategy of each field can be overridden, see {@link FillStrategy}.
+ */
+@SuppressWarnings("unused")
+public class FormFiller {
+
+    static Printer log = new Printer(FormFiller.class);
+
+    /**
+     * determines if form steps (fillForm, bundleInteraction) fill browser forms in batches
+     */
+    static boolean enabled = Boolean.parseBoolean(ContextStore.get("batched-forms", "false"));
+
+    /**
+     * determines the fill strategy of fields without an explicit strategy, auto, script or keys
+     */
+    static FillStrategy defaultStrategy = FillStrategy.valueOf(ContextStore.get("form-fill-strategy", "auto"));
+
+    /**
+     * determines if batched form fills read back and verify the values of the fields filled by script
+     */
+    static boolean verification = Boolean.parseBoolean(ContextStore.get("batched-form-verification", "false"));
+
+    private static final String FILL_SCRIPT =
+            "var elements = arguments[0], values = arguments[1], strategies = arguments[2], resolved = [];" +
+            "var keyTypes = ['date', 'datetime-local', 'month', 'week', 'time', 'file'];" +
+            "function blocked(element) {" +
+            "  if (element.disabled) return 'disabled';" +
+            "  if (element.readOnly || (element.hasAttribute('contenteditable') && !element.isContentEditable)) return 'read only';" +
+            "  if (element.type === 'file') return null;" +
+            "  if (element.getClientRects().length === 0 || getComputedStyle(element).visibility === 'hidden') return 'hidden';" +
+            "  return null;" +
+            "}" +
+            "function resolve(element, strategy) {" +
+            "  if (strategy !== 'auto') return strategy;" +
+            "  if (element.isContentEditable) return 'keys';" +
+            "  var tag = element.tagName.toLowerCase();" +
+            "  if (tag === 'select' || tag === 'textarea') return 'script';" +
+            "  if (tag !== 'input' || keyTypes.indexOf((element.type || '').toLowerCase()) >= 0) return 'keys';" +
+            "  if (element.getAttribute('role') === 'combobox' || element.hasAttribute('aria-autocomplete') ||" +
+            "    element.hasAttribute('data-mask') || element.hasAttribute('data-pickleib-keys')) return 'keys';" +
+            "  return 'script';" +
+            "}" +
+            "function setValue(element, value) {" +
+            "  if (element.isContentEditable) element.textContent = value;" +
+            "  else if (element instanceof HTMLSelectElement) {" +
+            "    for (var index = 0; index < element.options.length; index++) {" +
+            "      var option = element.options[index];" +
+            "      if (option.value === value || option.text.trim() === value) {element.selectedIndex = index; break;}" +
+            "    }" +
+            "  }" +
+            "  else {" +
+            "    var prototype = element instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+            "    Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, value);" +
+            "  }" +
+            "  element.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "  element.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "}" +
+            "var failures = elements.map(blocked);" +
+            "if (failures.some(function (failure) {return failure !== null;})) return {failures: failures};" +
+            "for (var index = 0; index < elements.length; index++) {" +
+            "  var element = elements[index], strategy = resolve(element, strategies[index]);" +
+            "  resolved.push(strategy);" +
+            "  if (strategy === 'script') {" +
+            "    if (element.focus) element.focus();" +
+            "    setValue(element, values[index]);" +
+            "    if (element.blur) element.blur();" +
+            "  }" +
+            "  else if (element.type !== 'file') setValue(element, '');" +
+            "}" +
+            "return {strategies: resolved};";
+
+    private static final String VERIFY_SCRIPT =
+            "var elements = arguments[0], values = arguments[1];" +
+            "return elements.map(function (element, index) {" +
+            "  if (element.type === 'file') return null;" +
+            "  var actual;" +
+            "  if (element instanceof HTMLSelectElement) {" +
+            "    var option = element.selectedOptions[0];" +
+            "    if (option && (option.value === values[index] || option.text.trim() === values[index])) return null;" +
+            "    actual = option ? option.text.trim() : '';" +
+            "  }" +
+            "  else actual = element.isContentEditable ? element.innerText.trim() : element.value;" +
+            "  return actual === values[index] ? null : actual;" +
+            "});";
+
+    final RemoteWebDriver driver;
+    final List<Field> fields = new ArrayList<>();
+
+    public FormFiller(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Adds a field with the default fill strategy
+     *
+     * @param element input element
+     * @param name    input name, used for logs
+     * @param value   input value, context values are resolved
+     * @return returns the form filler
+     */
+    public FormFiller add(WebElement element, String name, String value) {
+        return add(element, name, value, null);
+    }
+
+    /**
+     * Adds a field
+     *
+     * @param element  input element
+     * @param name     input name, used for logs
+     * @param value    input value, context values are resolved
+     * @param strategy fill strategy of the field, the default strategy if null
+     * @return returns the form filler
+     */
+    public FormFiller add(WebElement element, String name, String value, FillStrategy strategy) {
+        fields.add(new Field(element, name, contextCheck(value), strategy == null ? defaultStrategy : strategy));
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Fills the added fields, verifying their values if "batched-form-verification" is enabled.
+     * The filler is emptied afterwards.
+     */
+    public void fill() {
+        fill(verification);
+    }
+
+    /**
+     * Fills the added fields, the filler is emptied afterwards.
+     * Nothing is filled if a field is disabled, read only or hidden.
+     * Typed fields are not verified, since their values are often reformatted (dates, masks, comboboxes).
+     *
+     * @param verify verifies the values of the fields filled by script with a final read if true
+     * @throws PickleibException if a field cannot be filled, or a value could not be verified
+     */
+    public void fill(boolean verify) {
+        if (fields.isEmpty()) return;
+        List<WebElement> elements = new ArrayList<>(fields.size());
+        List<String> values = new ArrayList<>(fields.size());
+        List<String> strategies = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            elements.add(field.element);
+            values.add(field.value);
+            strategies.add(field.strategy.name());
+        }
+        try {
+            Map<?, ?> result = (Map<?, ?>) driver.executeScript(FILL_SCRIPT, elements, values, strategies);
+            if (result.get("failures") instanceof List<?> failures) {
+                StringJoiner blocked = new StringJoiner(", ");
+                for (int index = 0; index < fields.size(); index++)
+                    if (failures.get(index) != null) blocked.add(fields.get(index).name + " (" + failures.get(index) + ")");
+                throw new PickleibException("Form fields cannot be filled: " + blocked);
+            }
+            List<?> resolved = (List<?>) result.get("strategies");
+            List<Field> scripted = new ArrayList<>();
+            for (int index = 0; index < fields.size(); index++) {
+                Field field = fields.get(index);
+                if (FillStrategy.keys.name().equals(resolved.get(index))) field.element.sendKeys(field.value);
+                else scripted.add(field);
+            }
+            PageSourceSnapshot.invalidate(driver);
+            log.info("Filled " + highlighted(BLUE, String.valueOf(fields.size())) +
+                    highlighted(GRAY, " field(s), " + (fields.size() - scripted.size()) + " typed"));
+            if (verify && !scripted.isEmpty()) verify(scripted);
+        }
+        finally {fields.clear();}
+    }
+
+    private void verify(List<Field> scripted) {
+        List<WebElement> elements = scripted.stream().map(field -> field.element).toList();
+        List<String> values = scripted.stream().map(field -> field.value).toList();
+        List<?> mismatches = (List<?>) driver.executeScript(VERIFY_SCRIPT, elements, values);
+        StringJoiner failures = new StringJoiner(", ");
+        for (int index = 0; index < scripted.size(); index++)
+            if (mismatches.get(index) != null)
+                failures.add(scripted.get(index).name + " -> '" + mismatches.get(index) + "' (expected '" + values.get(index) + "')");
+        if (failures.length() > 0) throw new PickleibException("Form values could not be verified: " + failures);
+        log.success("Form values were verified");
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        FormFiller.enabled = enabled;
+    }
+
+    public static void setDefaultStrategy(FillStrategy defaultStrategy) {
+        FormFiller.defaultStrategy = defaultStrategy;
+    }
+
+    public static void setVerification(boolean verification) {
+        FormFiller.verification = verification;
+    }
+
+    static class Field {
+        final WebElement element;
+        final String name;
+        final String value;
+        final FillStrategy strategy;
+
+        Field(WebElement element, String name, String value, FillStrategy strategy) {
+            this.element = element;
+            this.name = name;
+            this.value = value;
+            this.strategy = strategy;
+        }
+    }
+}
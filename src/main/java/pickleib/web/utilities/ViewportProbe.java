@@ -0,0 +1,168 @@
+package pickleib.web.utilities;
+
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import utils.Printer;
+
+import java.util.Map;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Makes viewport and scroll decisions for browser elements in a single script.
+ * The script checks whether an element is displayed, fully in view (centered, for elements larger than the viewport)
+ * and not covered by another element at its center,
+ * scrolls it to the center of the view only if it is not in view (or covered), and returns the resulting state.
+ * Elements that are already interactable therefore cost one round trip, and are not scrolled.
+ */
+@SuppressWarnings("unused")
+public class ViewportProbe {
+
+    static Printer log = new Printer(ViewportProbe.class);
+
+    private static final String PROBE_SCRIPT =
+            "var element = arguments[0], scroll = arguments[1];" +
+            "var width = window.innerWidth || document.documentElement.clientWidth;" +
+            "var height = window.innerHeight || document.documentElement.clientHeight;" +
+            "function inView(rect) {" +
+            "  var x = rect.left + rect.width / 2, y = rect.top + rect.height / 2;" +
+            "  var vertical = rect.height <= height ? rect.top >= 0 && rect.bottom <= height : y >= 0 && y <= height;" +
+            "  var horizontal = rect.width <= width ? rect.left >= 0 && rect.right <= width : x >= 0 && x <= width;" +
+            "  return vertical && horizontal;" +
+            "}" +
+            "function coveringElement(rect) {" +
+            "  var hit = document.elementFromPoint(rect.left + rect.width / 2, rect.top + rect.height / 2);" +
+            "  return hit && hit !== element && !element.contains(hit) ? hit : null;" +
+            "}" +
+            "function describe(node) {" +
+            "  if (!node) return null;" +
+            "  var description = node.tagName.toLowerCase();" +
+            "  if (node.id) description += '#' + node.id;" +
+            "  if (typeof node.className === 'string' && node.className.trim())" +
+            "    description += '.' + node.className.trim().split(/\\s+/).join('.');" +
+            "  return description;" +
+            "}" +
+            "var rect = element.getBoundingClientRect();" +
+            "var displayed = rect.width > 0 && rect.height > 0;" +
+            "var covering = displayed && inView(rect) ? coveringElement(rect) : null;" +
+            "var scrolled = false;" +
+            "if (scroll && displayed && (!inView(rect) || covering)) {" +
+            "  element.scrollIntoView({block: 'center', inline: 'center', behavior: 'instant'});" +
+            "  rect = element.getBoundingClientRect();" +
+            "  covering = inView(rect) ? coveringElement(rect) : null;" +
+            "  scrolled = true;" +
+            "}" +
+            "return {" +
+            "  x: rect.left, y: rect.top, width: rect.width, height: rect.height," +
+            "  displayed: displayed, inView: displayed && inView(rect), scrolled: scrolled," +
+            "  obscured: !!covering, obscuringElement: describe(covering)" +
+            "};";
+
+    final RemoteWebDriver driver;
+
+    public ViewportProbe(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Scrolls an element to the center of the view, only if it is not fully in view or covered by another element
+     *
+     * @param element target element
+     * @return returns the state of the element after scrolling
+     */
+    public ViewportState ensureInteractable(WebElement element) {
+        ViewportState state = probe(element, true);
+        if (state.isObscured())
+            log.warning("Element is covered by " + highlighted(BLUE, state.getObscuringElement()) + highlighted(GRAY, " at its center"));
+        return state;
+    }
+
+    /**
+     * Reads the viewport state of an element, without scrolling
+     *
+     * @param element target element
+     * @return returns the state of the element
+     */
+    public ViewportState inspect(WebElement element) {
+        return probe(element, false);
+    }
+
+    private ViewportState probe(WebElement element, boolean scroll) {
+        return new ViewportState((Map<?, ?>) driver.executeScript(PROBE_SCRIPT, element, scroll));
+    }
+
+    /**
+     * Viewport state of an element, the rect is relative to the viewport
+     */
+    public static class ViewportState {
+        private final Rectangle rect;
+        private final boolean displayed;
+        private final boolean inView;
+        private final boolean scrolled;
+        private final boolean obscured;
+        private final String obscuringElement;
+
+        ViewportState(Map<?, ?> state) {
+            this.rect = new Rectangle(
+                    toInt(state.get("x")),
+                    toInt(state.get("y")),
+                    toInt(state.get("height")),
+                    toInt(state.get("width"))
+            );
+            this.displayed = Boolean.TRUE.equals(state.get("displayed"));
+            this.inView = Boolean.TRUE.equals(state.get("inView"));
+            this.scrolled = Boolean.TRUE.equals(state.get("scrolled"));
+            this.obscured = Boolean.TRUE.equals(state.get("obscured"));
+            this.obscuringElement = state.get("obscuringElement") == null ? null : state.get("obscuringElement").toString();
+        }
+
+        private static int toInt(Object value) {
+            return value instanceof Number number ? (int) Math.round(number.doubleValue()) : 0;
+        }
+
+        public Rectangle getRect() {
+            return rect;
+        }
+
+        public boolean isDisplayed() {
+            return displayed;
+        }
+
+        /**
+         * True if the element is fully within the viewport
+         */
+        public boolean isInView() {
+            return inView;
+        }
+
+        /**
+         * True if the element had to be scrolled
+         */
+        public boolean isScrolled() {
+            return scrolled;
+        }
+
+        /**
+         * True if another element is on top of the element center
+         */
+        public boolean isObscured() {
+            return obscured;
+        }
+
+        /**
+         * Returns a css like description of the element on top of the element center, or null
+         */
+        public String getObscuringElement() {
+            return obscuringElement;
+        }
+
+        /**
+         * True if the element is displayed, fully in view and not covered
+         */
+        public boolean isInteractable() {
+            return displayed && inView && !obscured;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package pickleib.web.utilities;
+
+import context.ContextStore;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import pickleib.utilities.polling.MutationWaiter;
+import utils.Printer;
+
+import java.util.List;
+import java.util.Map;
+
+import static utils.StringUtilities.Color.*;
+import static utils.StringUtilities.highlighted;
+
+/**
+ * Searches (virtualised) lists for a row containing a given text, inside the browser.
+ * A single asynchronous script checks the rendered rows, rewinds the container to the top (rows above the current
+ * position are not rendered in virtualised lists), then scrolls it by a page, waits for the new rows to render and
+ * checks again, until the target row is found or the end of the list is reached. Rows are keyed
+ * (by data-row-key, aria-rowindex, data-index or their text) so the end of the list is detected when a scroll at
+ * the bottom reveals no row that was not seen before. A search costs one round trip per script timeout, instead
+ * of reading every row text on every pass.
+ */
+@SuppressWarnings("unused")
+public class VirtualListSearch {
+
+    static Printer log = new Printer(VirtualListSearch.class);
+
+    /**
+     * determines how long a list is given to render its rows after a scroll, in milliseconds
+     */
+    static long settleTime = Long.parseLong(ContextStore.get("virtual-list-settle-time", "100"));
+
+    /**
+     * determines how long a list is searched, in milliseconds
+     */
+    static long searchTimeout = Long.parseLong(ContextStore.get("virtual-list-timeout", "60000"));
+
+    private static final String SEARCH_SCRIPT =
+            "var container = arguments[0], given = arguments[1], selector = arguments[2], text = arguments[3];" +
+            "var timeout = arguments[4], settle = arguments[5], rewind = arguments[6], callback = arguments[arguments.length - 1];" +
+            "var start = Date.now(), scrolls = 0, seen = {}, seenCount = 0;" +
+            "var sample = given && given.length ? given[0] : null;" +
+            "var parent = sample ? sample.parentElement : null, tag = sample ? sample.tagName : null;" +
+            "var siblings = !!parent && given.every(function (row) {" +
+            "  return row.parentElement === parent && row.tagName === tag;" +
+            "});" +
+            "function scrollable(node) {" +
+            "  for (; node && node !== document.body && node !== document.documentElement; node = node.parentElement) {" +
+            "    var overflow = window.getComputedStyle(node).overflowY;" +
+            "    if ((overflow === 'auto' || overflow === 'scroll' || overflow === 'overlay') && node.scrollHeight > node.clientHeight)" +
+            "      return node;" +
+            "  }" +
+            "  return document.scrollingElement || document.documentElement;" +
+            "}" +
+            "if (!container) container = scrollable(parent);" +
+            "var viewport = container === document.scrollingElement || container === document.documentElement ?" +
+            "  window.innerHeight : container.clientHeight;" +
+            "function rows() {" +
+            "  if (selector) return Array.prototype.slice.call(container.querySelectorAll(selector));" +
+            "  if (!siblings) return given.filter(function (row) {return row.isConnected;});" +
+            "  if (parent.isConnected) return Array.prototype.filter.call(parent.children, function (row) {" +
+            "    return row.tagName === tag;" +
+            "  });" +
+            "  return tag ? Array.prototype.slice.call(container.querySelectorAll(tag)) : [];" +
+            "}" +
+            "function key(row) {" +
+            "  return row.getAttribute('data-row-key') || row.getAttribute('aria-rowindex') || row.getAttribute('data-index') ||" +
+            "    (row.innerText || row.textContent || '').trim();" +
+            "}" +
+            "function finish(row, end) {" +
+            "  if (row) row.scrollIntoView({block: 'center', inline: 'nearest', behavior: 'instant'});" +
+            "  callback({element: row, scrolls: scrolls, seen: seenCount, end: end});" +
+            "}" +
+            "function matches(row) {" +
+            "  return (row.innerText || row.textContent || '').indexOf(text) >= 0;" +
+            "}" +
+            "function step() {" +
+            "  var found = null, discovered = false;" +
+            "  rows().forEach(function (row) {" +
+            "    if (!found && matches(row)) found = row;" +
+            "    var rowKey = key(row);" +
+            "    if (!seen[rowKey]) {seen[rowKey] = true; seenCount++; discovered = true;}" +
+            "  });" +
+            "  if (found) return finish(found, false);" +
+            "  var atEnd = container.scrollTop + viewport >= container.scrollHeight - 1;" +
+            "  if (scrolls > 0 && atEnd && !discovered) return finish(null, true);" +
+            "  if (Date.now() - start >= timeout) return finish(null, false);" +
+            "  container.scrollTop = container.scrollTop + viewport * 0.9;" +
+            "  scrolls++;" +
+            "  setTimeout(function () {window.requestAnimationFrame(step);}, settle);" +
+            "}" +
+            "if (rewind) {" +
+            "  var rendered = rows().filter(matches)[0];" +
+            "  if (rendered) return finish(rendered, false);" +
+            "  if (container.scrollTop > 0) {" +
+            "    container.scrollTop = 0;" +
+            "    return setTimeout(function () {window.requestAnimationFrame(step);}, settle);" +
+            "  }" +
+            "}" +
+            "step();";
+
+    final RemoteWebDriver driver;
+
+    public VirtualListSearch(RemoteWebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Scrolls a list until a row containing a given text is rendered.
+     * If the given rows are same-tag siblings, every same-tag sibling is searched, including rows rendered by the
+     * scroll, so the returned row may not be one of the given rows. Otherwise only the given rows are searched.
+     *
+     * @param container scrolled container, the closest scrollable ancestor of the rows if null
+     * @param rows      currently rendered rows
+     * @param text      target text
+     * @return returns the row, scrolled to the center of the container
+     * @throws NoSuchElementException if the end of the list or the timeout is reached
+     */
+    public WebElement search(WebElement container, List<WebElement> rows, String text) {
+        return search(container, rows, null, text);
+    }
+
+    /**
+     * Scrolls a container until a row containing a given text is rendered
+     *
+     * @param container   scrolled container
+     * @param rowSelector css selector of the rows, relative to the container
+     * @param text        target text
+     * @return returns the row, scrolled to the center of the container
+     * @throws NoSuchElementException if the end of the list or the timeout is reached
+     */
+    public WebElement search(WebElement container, String rowSelector, String text) {
+        return search(container, null, rowSelector, text);
+    }
+
+    private WebElement search(WebElement container, List<WebElement> rows, String rowSelector, String text) {
+        log.info("Searching the list for " + highlighted(BLUE, text));
+        long initialTime = System.currentTimeMillis();
+        long remaining = searchTimeout;
+        int scrolls = 0;
+        boolean rewind = true;
+        do {
+            long scriptTimeout = MutationWaiter.getScriptTimeout(driver);
+            long chunk = Math.min(remaining, Math.max(scriptTimeout - 1000, scriptTimeout / 2));
+            Map<?, ?> result = (Map<?, ?>) driver.executeAsyncScript(
+                    SEARCH_SCRIPT, container, rows, rowSelector, text, chunk, settleTime, rewind
+            );
+            rewind = false;
+            scrolls += result.get("scrolls") instanceof Number number ? number.intValue() : 0;
+            if (result.get("element") instanceof WebElement element) {
+                log.info("Found " + highlighted(BLUE, text) + highlighted(GRAY, " after " + scrolls + " scroll(s)"));
+                return element;
+            }
+            if (Boolean.TRUE.equals(result.get("end")))
+                throw new NoSuchElementException(
+                        "Element '" + text + "' could not be located, reached the end of the list after " + scrolls +
+                                " scroll(s) and " + result.get("seen") + " row(s)!"
+                );
+            remaining = searchTimeout - (System.currentTimeMillis() - initialTime);
+        }
+        while (remaining > 0);
+        throw new NoSuchElementException("Element '" + text + "' could not be located in " + searchTimeout + "ms!");
+    }
+
+    public static void setSettleTime(long settleTime) {
+        VirtualListSearch.settleTime = settleTime;
+    }
+
+    public static void setSearchTimeout(long searchTimeout) {
+        VirtualListSearch.searchTimeout = searchTimeout;
+    }
+}
@@ -4,6 +4,7 @@ import collections.Bundle;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import dev.failsafe.internal.util.Assert;
+import io.appium.java_client.AppiumDriver;
 import io.appium.java_client.functions.ExpectedCondition;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -18,6 +19,7 @@ import org.openqa.selenium.logging.LogEntry;
 import org.openqa.selenium.logging.LogType;
 import org.openqa.selenium.remote.RemoteExecuteMethod;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
 import org.openqa.selenium.remote.html5.RemoteWebStorage;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import pickleib.enums.Direction;
@@ -25,8 +27,8 @@ import pickleib.enums.ElementState;
 import pickleib.enums.Navigation;
 import pickleib.exceptions.PickleibException;
 import pickleib.utilities.Utilities;
-import pickleib.utilities.element.acquisition.ElementAcquisition;
 import pickleib.utilities.interfaces.functions.LocateElement;
+import pickleib.utilities.polling.QuiescenceDetector;
 import pickleib.web.driver.PickleibWebDriver;
 import utils.StringUtilities;
 
@@ -44,14 +46,14 @@ public abstract class WebUtilities extends Utilities {
      * WebUtilities for frameworks that use the Pickleib driver
      */
     public WebUtilities() {
-        super(PickleibWebDriver.get(), (element) -> centerElement(element, PickleibWebDriver.get()));
+        super(PickleibWebDriver.get(), (element) -> ensureInteractable(element, PickleibWebDriver.get()));
     }
 
     /**
      * WebUtilities for frameworks that do not use the Pickleib driver
      */
     public WebUtilities(RemoteWebDriver driver) {
-        super(driver, (element) -> centerElement(element, driver));
+        super(driver, (element) -> ensureInteractable(element, driver));
     }
 
     public RemoteWebDriver driver() {
@@ -108,20 +110,17 @@ public abstract class WebUtilities extends Utilities {
     }
 
     /**
-     * Scrolls through a list of elements until an element containing a given text is found
+     * Scrolls through a list of elements until an element containing a given text is found.
+     * The list is searched in the browser, see {@link VirtualListSearch}, so rows of virtualised lists that are not
+     * rendered yet are found as well. If the given elements are same-tag siblings, all of their siblings are searched
+     * and the returned element may not be one of the given elements, otherwise only the given elements are searched.
      *
      * @param elementText target element text
      * @param elements    target element list
      */
     public WebElement scrollInList(String elementText, List<WebElement> elements) {
         log.info("Scrolling the list to element with text: " + highlighted(BLUE, elementText));
-        for (WebElement element : elements) {
-            centerElement(element);
-            if (element.getText().contains(elementText)) {
-                return element;
-            }
-        }
-        throw new RuntimeException("Element '" + elementText + "' could not be located!");
+        return new VirtualListSearch(driver).search(null, elements, elementText);
     }
 
     /**
@@ -288,12 +287,28 @@ public abstract class WebUtilities extends Utilities {
     }
 
     /**
-     * Scrolls element into view by using javascript
+     * Scrolls element into view by using javascript, elements that are already in view are not scrolled
      *
      * @param webElement element that gets scrolled into the view
      */
     public void scrollWithJS(WebElement webElement) {
-        driver.executeScript("arguments[0].scrollIntoView();", webElement);
+        ensureInteractable(webElement, driver);
+    }
+
+    /**
+     * Scrolls an element to the center of the view if it is not fully in view or covered, in a single script
+     *
+     * @param element target element
+     * @param driver  driver session
+     * @return returns the targeted element
+     */
+    public static WebElement ensureInteractable(WebElement element, RemoteWebDriver driver) {
+        new ViewportProbe(driver).ensureInteractable(element);
+        return element;
+    }
+
+    public WebElement ensureInteractable(WebElement element) {
+        return ensureInteractable(element, driver);
     }
 
     /**
@@ -310,7 +325,7 @@ public abstract class WebUtilities extends Utilities {
 
         driver.executeScript(scrollScript, element);
 
-        waitFor(0.3);
+        QuiescenceDetector.settle(driver, 0.3);
         return element;
     }
 
@@ -456,7 +471,7 @@ public abstract class WebUtilities extends Utilities {
         int counter = 0;
         do {
             try {
-                centerElement(element);
+                ensureInteractable(element);
                 actions.moveToElement(element).build().perform();
                 break;
             } catch (WebDriverException webDriverException) {
@@ -599,13 +614,39 @@ public abstract class WebUtilities extends Utilities {
     }
 
     /**
-     * Waits actively for the page to load up to 10 seconds
+     * Waits until the page is quiet, see {@link QuiescenceDetector}
+     *
+     * @return returns true if the page settled before the "quiet-timeout"
+     */
+    public boolean waitUntilQuiet() {
+        return new QuiescenceDetector(driver).waitUntilQuiet();
+    }
+
+    /**
+     * Waits until the page is quiet, see {@link QuiescenceDetector}
+     *
+     * @param idleWindow time the page has to be free of requests and mutations, in milliseconds
+     * @param timeout    timeout in milliseconds
+     * @return returns true if the page settled before the timeout
+     */
+    public boolean waitUntilQuiet(long idleWindow, long timeout) {
+        return new QuiescenceDetector(driver).waitUntilQuiet(idleWindow, timeout);
+    }
+
+    /**
+     * Waits actively for the page to load up to 10 seconds.
+     * If "quiescence-waits" are enabled, waits for the page to be quiet instead of polling the ready state.
      */
     protected void waitUntilLoads(int waitingTime) {
         long startTime = System.currentTimeMillis();
         String url = driver.getCurrentUrl();
         log.info("Waiting for page to be loaded -> " + markup(BLUE, url));
 
+        if (QuiescenceDetector.isEnabled()) {
+            new QuiescenceDetector(driver).waitUntilQuiet(QuiescenceDetector.getIdleWindow(), waitingTime * 1000L);
+            return;
+        }
+
         ExpectedCondition<Boolean> pageLoadCondition = driverLoad ->
         {
             assert driverLoad != null;
@@ -623,9 +664,10 @@ public abstract class WebUtilities extends Utilities {
      * Scrolls the container element to bring the target element into view.
      *
      * <p>
-     * This method scrolls the specified container element to bring the target element into view.
-     * It calculates the distance between the first element in the list and the target element,
-     * then scrolls the container by that distance to ensure the target element is in view.
+     * This method scrolls the specified container element page by page until the target element is rendered
+     * and brings it to the center of the container, see {@link VirtualListSearch}. If the given elements are same-tag
+     * siblings, all of their siblings are searched and the returned element may not be one of the given elements,
+     * otherwise only the given elements are searched.
      * </p>
      *
      * @param container The container WebElement to be scrolled.
@@ -635,11 +677,7 @@ public abstract class WebUtilities extends Utilities {
      */
     public WebElement scrollInContainer(WebElement container, List<WebElement> elements, String targetElementText) {
         log.info("Scrolling " + targetElementText + " in view");
-        WebElement targetElement = ElementAcquisition.acquireNamedElementAmongst(elements, targetElementText);
-        WebElement firstElement = elements.get(0);
-        double distance = Math.abs(firstElement.getLocation().getY() - targetElement.getLocation().getY());
-        driver.executeScript("arguments[0].scrollBy(0, "+distance+");", container);
-        return  targetElement;
+        return new VirtualListSearch(driver).search(container, elements, targetElementText);
     }
 
     /**
@@ -656,15 +694,74 @@ public abstract class WebUtilities extends Utilities {
      * @since 2.0.0
      */
     public boolean elementIsInView(WebElement element) {
-        String script = "var rect = arguments[0].getBoundingClientRect();" +
-                "    return (" +
-                "        rect.top >= 0 &&" +
-                "        rect.left >= 0 &&" +
-                "        rect.bottom <= (window.innerHeight || document.documentElement.clientHeight) &&\n" +
-                "        rect.right <= (window.innerWidth || document.documentElement.clientWidth)\n" +
-                "    );";
-
-        return Boolean.parseBoolean(driver.executeScript(script, element).toString());
+        return new ViewportProbe(driver).inspect(element).isInView();
+    }
+
+
+    /**
+     * Reads the texts of a list of elements in a single script execution.
+     * Falls back to one read per element for Appium sessions and for elements that are not remote elements.
+     *
+     * @param elements target elements
+     * @return returns the element texts, in list order
+     */
+    public static List<String> getTexts(List<? extends WebElement> elements) {
+        RemoteWebDriver driver = batchDriverOf(elements);
+        if (driver == null) return elements.stream().map(WebElement::getText).toList();
+        return toStrings(driver.executeScript(
+                "return arguments[0].map(function (element) {" +
+                "  return (element.innerText === undefined ? element.textContent : element.innerText).trim();" +
+                "});",
+                elements
+        ), elements.size());
+    }
+
+    /**
+     * Reads an attribute of a list of elements in a single script execution.
+     * Like {@link WebElement#getAttribute(String)}, the property is read first and the attribute if there is no such property.
+     * Falls back to one read per element for Appium sessions and for elements that are not remote elements.
+     *
+     * @param elements      target elements
+     * @param attributeName attribute name
+     * @return returns the attribute values (null if absent), in list order
+     */
+    public static List<String> getAttributes(List<? extends WebElement> elements, String attributeName) {
+        RemoteWebDriver driver = batchDriverOf(elements);
+        if (driver == null) return elements.stream().map(element -> element.getAttribute(attributeName)).toList();
+        return toStrings(driver.executeScript(
+                "var name = arguments[1];" +
+                "return arguments[0].map(function (element) {" +
+                "  var value = element[name];" +
+                "  if (value === undefined || value === null || typeof value === 'object' || typeof value === 'function')" +
+                "    value = element.getAttribute(name);" +
+                "  return value === null || value === undefined ? null : String(value);" +
+                "});",
+                elements,
+                attributeName
+        ), elements.size());
+    }
+
+    /**
+     * Returns the driver the elements can be read through with a single script, or null if they cannot
+     */
+    private static RemoteWebDriver batchDriverOf(List<? extends WebElement> elements) {
+        if (elements.isEmpty()) return null;
+        WebDriver driver = null;
+        for (WebElement element : elements) {
+            if (!(element instanceof RemoteWebElement remoteElement)) return null;
+            if (driver == null) driver = remoteElement.getWrappedDriver();
+            else if (driver != remoteElement.getWrappedDriver()) return null;
+        }
+        if (!(driver instanceof RemoteWebDriver remoteDriver) || driver instanceof AppiumDriver) return null;
+        return remoteDriver;
+    }
+
+    private static List<String> toStrings(Object result, int size) {
+        if (!(result instanceof List<?> values) || values.size() != size)
+            throw new PickleibException("Batched read returned an unexpected result: " + result);
+        List<String> strings = new ArrayList<>(size);
+        for (Object value : values) strings.add(value == null ? null : String.valueOf(value));
+        return strings;
     }
 
 
@@ -0,0 +1,44 @@
+import common.StatusWatcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import pickleib.enums.BackoffType;
+import pickleib.utilities.polling.Backoff;
+
+@ExtendWith(StatusWatcher.class)
+public class BackoffTest {
+
+    @Test
+    public void fixedBackoffTest() {
+        Backoff backoff = new Backoff(BackoffType.fixed, 100, 1000, 2);
+        for (int attempt = 1; attempt <= 10; attempt++) Assertions.assertEquals(100, backoff.delay(attempt));
+    }
+
+    @Test
+    public void exponentialBackoffTest() {
+        Backoff backoff = new Backoff(BackoffType.exponential, 100, 1000, 2);
+        Assertions.assertEquals(100, backoff.delay(1));
+        Assertions.assertEquals(200, backoff.delay(2));
+        Assertions.assertEquals(400, backoff.delay(3));
+        Assertions.assertEquals(800, backoff.delay(4));
+        Assertions.assertEquals(1000, backoff.delay(5), "Delay was not capped by the maximum!");
+        Assertions.assertEquals(1000, backoff.delay(100), "Delay was not capped by the maximum!");
+    }
+
+    @Test
+    public void jitteredBackoffTest() {
+        Backoff backoff = new Backoff(BackoffType.jittered, 100, 1000, 2);
+        for (int sample = 0; sample < 100; sample++) {
+            long delay = backoff.delay(3);
+            Assertions.assertTrue(delay >= 200 && delay <= 400, "Jittered delay " + delay + " is out of [200, 400]!");
+        }
+        Assertions.assertEquals(100, backoff.delay(1));
+    }
+
+    @Test
+    public void backoffTypeTest() {
+        Assertions.assertEquals(BackoffType.jittered, BackoffType.fromString("JITTERED"));
+        Assertions.assertEquals(BackoffType.exponential, BackoffType.fromString("unknown"));
+        Assertions.assertEquals(BackoffType.exponential, BackoffType.fromString(null));
+    }
+}
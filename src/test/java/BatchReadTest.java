@@ -0,0 +1,64 @@
+import common.StatusWatcher;
+import common.StubWebDriverServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.RemoteWebElement;
+import pickleib.utilities.element.acquisition.ElementAcquisition;
+import pickleib.web.utilities.WebUtilities;
+
+import java.io.IOException;
+import java.util.List;
+
+@ExtendWith(StatusWatcher.class)
+public class BatchReadTest {
+
+    List<String> items = List.of("Apple", "Banana", "Cherry", "Damson", "Elderberry");
+    StubWebDriverServer server;
+    RemoteWebDriver driver;
+
+    @BeforeEach
+    public void before() throws IOException {
+        server = new StubWebDriverServer(items);
+        driver = new RemoteWebDriver(server.getUrl(), new MutableCapabilities());
+    }
+
+    @AfterEach
+    public void after() {
+        driver.quit();
+        server.stop();
+    }
+
+    @Test
+    public void batchTextReadTest() {
+        List<WebElement> elements = driver.findElements(By.tagName("li"));
+        server.resetCounts();
+        Assertions.assertEquals(items, WebUtilities.getTexts(elements));
+        Assertions.assertEquals(1, server.getRequestCount(), "Texts were not read in a single round-trip!");
+    }
+
+    @Test
+    public void namedElementAcquisitionRoundTripTest() {
+        List<WebElement> elements = driver.findElements(By.tagName("li"));
+        server.resetCounts();
+        WebElement match = ElementAcquisition.acquireNamedElementAmongst(elements, "Damson");
+        Assertions.assertEquals("e3", ((RemoteWebElement) match).getId());
+        Assertions.assertEquals(1, server.getRequestCount("POST", "/session/stub/execute/sync"));
+        Assertions.assertEquals(0, server.getRequestCount("GET", "/session/stub/element/e3/text"));
+    }
+
+    @Test
+    public void attributeAcquisitionRoundTripTest() {
+        List<WebElement> elements = driver.findElements(By.tagName("li"));
+        server.resetCounts();
+        WebElement match = ElementAcquisition.acquireElementUsingAttributeAmongst(elements, "value", "Banana");
+        Assertions.assertEquals("e1", ((RemoteWebElement) match).getId());
+        Assertions.assertEquals(1, server.getRequestCount(), "Attributes were not read in a single round-trip!");
+    }
+}
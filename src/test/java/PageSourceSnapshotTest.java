@@ -0,0 +1,69 @@
+import common.StatusWatcher;
+import io.appium.java_client.AppiumBy;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.pagefactory.ByAll;
+import pickleib.mobile.snapshot.PageSourceSnapshot;
+import pickleib.mobile.snapshot.SnapshotNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@ExtendWith(StatusWatcher.class)
+public class PageSourceSnapshotTest {
+
+    PageSourceSnapshot android = PageSourceSnapshot.parse(fixture("android-list.xml"));
+    PageSourceSnapshot ios = PageSourceSnapshot.parse(fixture("ios-list.xml"));
+
+    @Test
+    public void androidLocatorTest() {
+        List<String> items = android.findAll(By.id("item")).stream().map(SnapshotNode::getText).toList();
+        Assertions.assertEquals(List.of("Apple", "Banana", "Cherry", "Damson"), items);
+        Assertions.assertEquals("Checkout", android.findElement(AppiumBy.accessibilityId("checkout")).getText());
+        Assertions.assertEquals(5, android.findAll(By.className("android.widget.TextView")).size());
+        Assertions.assertEquals(
+                "com.example.shop:id/title",
+                android.findElement(By.xpath("//*[@text='Fruits']")).getAttribute("resourceId")
+        );
+        Assertions.assertEquals(2, android.findAll(new ByAll(By.id("title"), By.id("checkout"))).size());
+    }
+
+    @Test
+    public void androidXPathTest() {
+        SnapshotNode banana = android.findByText("Banana").get(0);
+        Assertions.assertEquals(
+                "/hierarchy/android.widget.FrameLayout[1]/android.widget.LinearLayout[1]" +
+                        "/androidx.recyclerview.widget.RecyclerView[1]/android.widget.TextView[2]",
+                banana.getXPath()
+        );
+        Assertions.assertEquals(List.of(banana), android.findByXPath(banana.getXPath()));
+        Assertions.assertFalse(android.findByText("Damson").get(0).isDisplayed());
+    }
+
+    @Test
+    public void iosLocatorTest() {
+        List<String> items = ios.findAll(By.id("item")).stream().map(SnapshotNode::getText).toList();
+        Assertions.assertEquals(List.of("Apple", "Banana", "Cherry"), items);
+        Assertions.assertEquals("Fruits", ios.findElement(AppiumBy.accessibilityId("title")).getText());
+        Assertions.assertEquals(3, ios.findAll(By.className("XCUIElementTypeCell")).size());
+        Assertions.assertFalse(ios.findByText("Cherry").get(0).isDisplayed());
+    }
+
+    @Test
+    public void unsupportedLocatorTest() {
+        Assertions.assertFalse(android.supports(By.cssSelector(".item")));
+        Assertions.assertTrue(android.supports(new ByAll(By.id("item"), By.xpath("//*"))));
+    }
+
+    static String fixture(String name) {
+        try (InputStream stream = PageSourceSnapshotTest.class.getResourceAsStream("/page-source/" + name)) {
+            if (stream == null) throw new IllegalStateException("Missing fixture " + name);
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        catch (IOException exception) {throw new IllegalStateException(exception);}
+    }
+}
@@ -0,0 +1,181 @@
+import common.StatusWatcher;
+import io.appium.java_client.ExecutesMethod;
+import io.appium.java_client.HasSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import pickleib.exceptions.PickleibException;
+import pickleib.mobile.profile.PerformanceProfile;
+import pickleib.mobile.profile.PerformanceProfiles;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(StatusWatcher.class)
+public class PerformanceProfileTest {
+
+    @PerformanceProfile(
+            waitForIdleTimeout = 0,
+            ignoreUnimportantViews = "true",
+            settings = {"shouldUseCompactResponses=false", "elementResponseAttributes=name,text"}
+    )
+    static class ListScreen {}
+
+    @PerformanceProfile(name = "deep-tree", snapshotMaxDepth = 62)
+    static class TreeScreen {}
+
+    @PerformanceProfile(settings = "waitForIdleTimeout")
+    static class InvalidScreen {}
+
+    @PerformanceProfile(waitForIdleTimeout = 0, snapshotMaxDepth = 10)
+    static class IdleScreen {WebElement element;}
+
+    @PerformanceProfile(waitForIdleTimeout = 0, snapshotMaxDepth = 20)
+    static class DeepScreen {WebElement element;}
+
+    static class PlainScreen {WebElement element;}
+
+    @AfterEach
+    public void after() {
+        PerformanceProfiles.setScope(PerformanceProfiles.Scope.screen);
+    }
+
+    @Test
+    public void profileSettingsTest() {
+        PerformanceProfile profile = ListScreen.class.getAnnotation(PerformanceProfile.class);
+        Assertions.assertEquals(
+                Map.of(
+                        "waitForIdleTimeout", 0L,
+                        "ignoreUnimportantViews", true,
+                        "shouldUseCompactResponses", false,
+                        "elementResponseAttributes", "name,text"
+                ),
+                PerformanceProfiles.settingsOf(profile)
+        );
+        Assertions.assertEquals("ListScreen", PerformanceProfiles.nameOf(ListScreen.class, profile));
+    }
+
+    @Test
+    public void profileNameTest() {
+        PerformanceProfile profile = TreeScreen.class.getAnnotation(PerformanceProfile.class);
+        Assertions.assertEquals(Map.of("snapshotMaxDepth", 62), PerformanceProfiles.settingsOf(profile));
+        Assertions.assertEquals("deep-tree", PerformanceProfiles.nameOf(TreeScreen.class, profile));
+    }
+
+    @Test
+    public void invalidSettingTest() {
+        PerformanceProfile profile = InvalidScreen.class.getAnnotation(PerformanceProfile.class);
+        Assertions.assertThrows(PickleibException.class, () -> PerformanceProfiles.settingsOf(profile));
+    }
+
+    @Test
+    public void profileSwitchTest() throws NoSuchFieldException {
+        SettingsDriver driver = new SettingsDriver(Map.of("waitForIdleTimeout", 10000L, "snapshotMaxDepth", 50L));
+        WebElement idle = element(new IdleScreen(), driver);
+        WebElement deep = element(new DeepScreen(), driver);
+        WebElement plain = element(new PlainScreen(), driver);
+
+        idle.getText();
+        idle.getText();
+        Assertions.assertEquals(List.of(Map.of("waitForIdleTimeout", 0L, "snapshotMaxDepth", 10)), driver.updates);
+
+        deep.getText();
+        Assertions.assertEquals(Map.of("snapshotMaxDepth", 20), driver.updates.get(1), "Only the differing setting should be sent!");
+
+        plain.getText();
+        Assertions.assertEquals(Map.of("waitForIdleTimeout", 10000L, "snapshotMaxDepth", 50L), driver.updates.get(2), "Profile was not reverted!");
+        plain.getText();
+        Assertions.assertEquals(3, driver.updates.size());
+        Assertions.assertEquals(1, driver.reads, "Session settings should be read once!");
+    }
+
+    @Test
+    public void profileRevertTest() throws NoSuchFieldException {
+        SettingsDriver driver = new SettingsDriver(Map.of("waitForIdleTimeout", 10000L, "snapshotMaxDepth", 50L));
+        element(new IdleScreen(), driver).getText();
+        PerformanceProfiles.revert(driver);
+        PerformanceProfiles.revert(driver);
+        Assertions.assertEquals(2, driver.updates.size());
+        Assertions.assertEquals(Map.of("waitForIdleTimeout", 10000L, "snapshotMaxDepth", 50L), driver.updates.get(1));
+    }
+
+    @Test
+    public void interactionScopeTest() throws NoSuchFieldException {
+        PerformanceProfiles.setScope(PerformanceProfiles.Scope.interaction);
+        SettingsDriver driver = new SettingsDriver(Map.of("waitForIdleTimeout", 10000L, "snapshotMaxDepth", 50L));
+        element(new IdleScreen(), driver).getText();
+        Assertions.assertEquals(2, driver.updates.size(), "Profile was not reverted after the call!");
+        Assertions.assertEquals(Map.of("waitForIdleTimeout", 10000L, "snapshotMaxDepth", 50L), driver.updates.get(1));
+    }
+
+    /**
+     * Decorates the element field of a screen the way PickleibScreenObject does, with a fake element
+     */
+    static WebElement element(Object screen, RemoteWebDriver driver) throws NoSuchFieldException {
+        WebElement element = (WebElement) Proxy.newProxyInstance(
+                WebElement.class.getClassLoader(),
+                new Class<?>[]{WebElement.class},
+                (proxy, method, args) -> method.getName().equals("getText") ? "text" : null
+        );
+        return (WebElement) PerformanceProfiles.decorate((loader, field) -> element, screen, driver)
+                .decorate(screen.getClass().getClassLoader(), screen.getClass().getDeclaredField("element"));
+    }
+
+    /**
+     * Driver session exposing the Appium settings API, records the settings updates it receives
+     */
+    static class SettingsDriver extends RemoteWebDriver implements HasSettings {
+        final Map<String, Object> settings;
+        final List<Map<String, Object>> updates = new ArrayList<>();
+        int reads;
+
+        SettingsDriver(Map<String, Object> settings) {
+            super(command -> {
+                Response response = new Response(new SessionId("settings"));
+                response.setValue(Map.of("browserName", "settings"));
+                return response;
+            }, new MutableCapabilities());
+            this.settings = new HashMap<>(settings);
+        }
+
+        @Override
+        public Map<String, Object> getSettings() {
+            reads++;
+            return new HashMap<>(settings);
+        }
+
+        @Override
+        public HasSettings setSettings(Map<String, Object> update) {
+            updates.add(Map.copyOf(update));
+            settings.putAll(update);
+            return this;
+        }
+
+        @Override
+        public Response execute(String driverCommand, Map<String, ?> parameters) {
+            throw new UnsupportedOperationException(driverCommand);
+        }
+
+        @Override
+        public Response execute(String driverCommand) {
+            throw new UnsupportedOperationException(driverCommand);
+        }
+
+        public ExecutesMethod assertExtensionExists(String extensionName) {
+            return this;
+        }
+
+        public ExecutesMethod markExtensionAbsence(String extensionName) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import common.StatusWatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.StaleElementReferenceException;
+import pickleib.enums.BackoffType;
+import pickleib.utilities.element.acquisition.ElementAcquisition;
+import pickleib.utilities.polling.Backoff;
+import pickleib.utilities.polling.PollingEngine;
+import pickleib.utilities.polling.PollingMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ExtendWith(StatusWatcher.class)
+public class PollingEngineTest {
+
+    PollingEngine engine = new PollingEngine(new Backoff(BackoffType.fixed, 5, 5, 1));
+
+    @AfterEach
+    public void after() {
+        PollingEngine.setDefaultEngine(null);
+        ElementAcquisition.setPoller(null);
+    }
+
+    @Test
+    public void pollUntilResultTest() {
+        AtomicInteger attempts = new AtomicInteger();
+        String result = engine.poll("result", 5000, () -> attempts.incrementAndGet() < 3 ? null : "done");
+        PollingMetrics metrics = PollingEngine.getLastMetrics();
+        Assertions.assertEquals("done", result);
+        Assertions.assertEquals(3, metrics.getAttempts());
+        Assertions.assertTrue(metrics.isSatisfied());
+    }
+
+    @Test
+    public void pollExceptionTest() {
+        AtomicInteger attempts = new AtomicInteger();
+        String result = engine.poll("exception", 5000, () -> {
+            if (attempts.incrementAndGet() < 3) throw new StaleElementReferenceException("stale");
+            return "done";
+        });
+        PollingMetrics metrics = PollingEngine.getLastMetrics();
+        Assertions.assertEquals("done", result);
+        Assertions.assertEquals(2, metrics.getExceptions());
+        Assertions.assertEquals(StaleElementReferenceException.class.getName(), metrics.getLastException());
+    }
+
+    @Test
+    public void pollTimeoutTest() {
+        long initialTime = System.currentTimeMillis();
+        Object result = engine.poll("timeout", 200, () -> null);
+        long elapsed = System.currentTimeMillis() - initialTime;
+        PollingMetrics metrics = PollingEngine.getLastMetrics();
+        Assertions.assertNull(result);
+        Assertions.assertFalse(metrics.isSatisfied());
+        Assertions.assertTrue(metrics.getAttempts() > 1);
+        Assertions.assertTrue(elapsed >= 200 && elapsed < 2000, "Polling took " + elapsed + "ms!");
+    }
+
+    @Test
+    public void pollPauseTest() {
+        List<Long> delays = new ArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+        String result = engine.poll(
+                "pause",
+                5000,
+                () -> attempts.incrementAndGet() < 4 ? null : "done",
+                (delay, remaining) -> {
+                    Assertions.assertTrue(remaining > 0);
+                    delays.add(delay);
+                }
+        );
+        Assertions.assertEquals("done", result);
+        Assertions.assertEquals(List.of(5L, 5L, 5L), delays);
+    }
+
+    @Test
+    public void defaultEngineTest() {
+        Assertions.assertSame(PollingEngine.getDefaultEngine(), ElementAcquisition.getPoller());
+        PollingEngine.setDefaultEngine(engine);
+        Assertions.assertSame(engine, ElementAcquisition.getPoller(), "Acquisition did not follow the default engine!");
+        PollingEngine custom = new PollingEngine(new Backoff(BackoffType.fixed, 1, 1, 1));
+        ElementAcquisition.setPoller(custom);
+        Assertions.assertSame(custom, ElementAcquisition.getPoller());
+    }
+}
@@ -0,0 +1,63 @@
+import common.StatusWatcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import pickleib.utilities.screenshot.ScreenshotWriter;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+@ExtendWith(StatusWatcher.class)
+public class ScreenshotWriterTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    public void writeTest() throws IOException {
+        ScreenshotWriter writer = new ScreenshotWriter(16);
+        File file = writer.submit(image(Color.RED), new File(directory, "red#1.png"), "png");
+        Assertions.assertTrue(writer.flush(10000), "Screenshot was not written in time!");
+        Assertions.assertEquals(new File(directory, "red#1.png"), file);
+        Assertions.assertNotNull(ImageIO.read(file), "Written screenshot could not be decoded!");
+        Assertions.assertEquals(1, writer.getWritten());
+    }
+
+    @Test
+    public void extensionTest() throws IOException {
+        ScreenshotWriter writer = new ScreenshotWriter(16);
+        File file = writer.submit(image(Color.GREEN), new File(directory, "green#2.png"), ".jpeg");
+        Assertions.assertTrue(writer.flush(10000), "Screenshot was not written in time!");
+        Assertions.assertEquals("green#2.jpg", file.getName());
+        Assertions.assertNotNull(ImageIO.read(file), "Written screenshot could not be decoded!");
+    }
+
+    @Test
+    public void duplicateTest() throws IOException {
+        ScreenshotWriter writer = new ScreenshotWriter(16);
+        byte[] screenshot = image(Color.BLUE);
+        File original = writer.submit(screenshot, new File(directory, "blue#3.png"), "png");
+        File duplicate = writer.submit(screenshot, new File(directory, "blue#4.png"), "png");
+        File other = writer.submit(image(Color.YELLOW), new File(directory, "yellow#5.png"), "png");
+        Assertions.assertTrue(writer.flush(10000), "Screenshots were not written in time!");
+        Assertions.assertEquals(original, duplicate, "Duplicate was not mapped to the written screenshot!");
+        Assertions.assertTrue(duplicate.exists());
+        Assertions.assertNotEquals(original, other);
+        Assertions.assertEquals(2, writer.getWritten());
+        Assertions.assertEquals(1, writer.getDuplicates());
+    }
+
+    static byte[] image(Color color) throws IOException {
+        BufferedImage image = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 8; x++)
+            for (int y = 0; y < 8; y++) image.setRGB(x, y, color.getRGB());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,92 @@
+import common.StatusWatcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.NoSuchElementException;
+import pickleib.mobile.snapshot.PageSourceSnapshot;
+import pickleib.mobile.snapshot.SnapshotNode;
+import pickleib.mobile.utilities.ScrollSearch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(StatusWatcher.class)
+public class ScrollSearchTest {
+
+    @Test
+    public void scrollSearchFindsItemTest() {
+        FixturePage page = new FixturePage(30, 6, 4);
+        SnapshotNode item = ScrollSearch.search("Item 17", page, 60000);
+        Assertions.assertEquals("Item 17", item.getText());
+        Assertions.assertEquals(3, page.scrolls);
+    }
+
+    @Test
+    public void scrollSearchStopsAtEndOfListTest() {
+        FixturePage page = new FixturePage(30, 6, 4);
+        long initialTime = System.currentTimeMillis();
+        Assertions.assertThrows(NoSuchElementException.class, () -> ScrollSearch.search("Item 99", page, 60000));
+        Assertions.assertEquals(7, page.scrolls, "Search did not stop at the end of the list!");
+        Assertions.assertTrue(System.currentTimeMillis() - initialTime < 60000);
+    }
+
+    @Test
+    public void listScopeTest() {
+        PageSourceSnapshot snapshot = PageSourceSnapshot.parse(
+                "<hierarchy>" +
+                "<androidx.recyclerview.widget.RecyclerView resource-id=\"app:id/fruits\">" +
+                "<android.widget.TextView text=\"Apple\"/><android.widget.TextView text=\"Banana\"/>" +
+                "</androidx.recyclerview.widget.RecyclerView>" +
+                "<androidx.recyclerview.widget.RecyclerView resource-id=\"app:id/vegetables\">" +
+                "<android.widget.TextView text=\"Apple pie\"/>" +
+                "</androidx.recyclerview.widget.RecyclerView>" +
+                "</hierarchy>"
+        );
+        ScrollSearch.ListScope scope = new ScrollSearch.ListScope("androidx.recyclerview.widget.RecyclerView", "app:id/fruits");
+        List<String> texts = new ArrayList<>();
+        for (SnapshotNode node : snapshot.getNodes())
+            if (!node.getText().isEmpty() && scope.contains(node)) texts.add(node.getText());
+        Assertions.assertEquals(List.of("Apple", "Banana"), texts);
+    }
+
+    /**
+     * A list of items rendered as Android page sources, showing a window of items that moves by a fixed step per scroll
+     */
+    static class FixturePage implements ScrollSearch.ScrollPage<SnapshotNode> {
+        final int size;
+        final int window;
+        final int step;
+        int offset;
+        int scrolls;
+
+        FixturePage(int size, int window, int step) {
+            this.size = size;
+            this.window = window;
+            this.step = step;
+        }
+
+        @Override
+        public List<SnapshotNode> visibleItems() {
+            StringBuilder source = new StringBuilder("<hierarchy><androidx.recyclerview.widget.RecyclerView text=\"\">");
+            for (int index = offset; index < Math.min(size, offset + window); index++)
+                source.append("<android.widget.TextView text=\"Item ").append(index).append("\" displayed=\"true\"/>");
+            source.append("</androidx.recyclerview.widget.RecyclerView></hierarchy>");
+
+            List<SnapshotNode> items = new ArrayList<>();
+            for (SnapshotNode node : PageSourceSnapshot.parse(source.toString()).getNodes())
+                if (!node.getText().isEmpty()) items.add(node);
+            return items;
+        }
+
+        @Override
+        public String textOf(SnapshotNode node) {
+            return node.getText();
+        }
+
+        @Override
+        public void scroll() {
+            scrolls++;
+            offset = Math.min(offset + step, Math.max(0, size - window));
+        }
+    }
+}
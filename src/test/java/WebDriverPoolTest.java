@@ -0,0 +1,164 @@
+import common.StatusWatcher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import pickleib.web.driver.WebDriverFactory;
+import pickleib.web.driver.WebDriverPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@ExtendWith(StatusWatcher.class)
+public class WebDriverPoolTest {
+
+    int poolSize;
+
+    @BeforeEach
+    public void before() {
+        poolSize = WebDriverPool.getPoolSize();
+        WebDriverPool.setPoolSize(1);
+    }
+
+    @AfterEach
+    public void after() {
+        WebDriverPool.setPoolSize(poolSize);
+    }
+
+    @Test
+    public void reuseTest() {
+        Browser browser = new Browser(List.of("https://app.com"));
+        WebDriverPool pool = new WebDriverPool(single(new PoolDriver(browser)));
+
+        RemoteWebDriver driver = pool.acquire(WebDriverFactory.BrowserType.FIREFOX);
+        Assertions.assertEquals(1, pool.getLeasedCount());
+        pool.release(driver);
+        Assertions.assertEquals(1, pool.getIdleCount(), "Session was not returned to the pool!");
+        Assertions.assertTrue(browser.commands.contains(DriverCommand.DELETE_ALL_COOKIES));
+        Assertions.assertEquals(DriverCommand.GET, browser.commands.get(browser.commands.size() - 1));
+
+        Assertions.assertSame(driver, pool.acquire(WebDriverFactory.BrowserType.FIREFOX), "Session was not reused!");
+        Assertions.assertEquals(1, pool.getHits());
+        Assertions.assertEquals(1, pool.getMisses());
+        Assertions.assertEquals(0.5, pool.getHitRate());
+        Assertions.assertEquals(0, pool.getEvictions());
+        Assertions.assertFalse(browser.commands.contains(DriverCommand.QUIT));
+    }
+
+    @Test
+    public void resetFailureTest() {
+        Browser browser = new Browser(List.of("https://app.com"));
+        browser.failing = true;
+        WebDriverPool pool = new WebDriverPool(single(new PoolDriver(browser)));
+
+        pool.release(pool.acquire(WebDriverFactory.BrowserType.FIREFOX));
+        Assertions.assertEquals(0, pool.getIdleCount(), "Session that could not be reset was reused!");
+        Assertions.assertEquals(0, pool.getLeasedCount());
+        Assertions.assertEquals(1, pool.getEvictions());
+        Assertions.assertTrue(browser.commands.contains(DriverCommand.QUIT), "Evicted session was not quit!");
+    }
+
+    @Test
+    public void multipleOriginTest() {
+        Browser browser = new Browser(List.of("https://app.com", "https://login.com"));
+        WebDriverPool pool = new WebDriverPool(single(new PoolDriver(browser)));
+
+        pool.release(pool.acquire(WebDriverFactory.BrowserType.FIREFOX));
+        Assertions.assertEquals(0, pool.getIdleCount(), "Session that visited several origins was reused!");
+        Assertions.assertEquals(1, pool.getEvictions());
+        Assertions.assertFalse(browser.commands.contains(DriverCommand.DELETE_ALL_COOKIES));
+    }
+
+    @Test
+    public void chromiumResetTest() {
+        Browser browser = new Browser(List.of("https://app.com", "https://login.com"));
+        CdpPoolDriver driver = new CdpPoolDriver(browser);
+        WebDriverPool pool = new WebDriverPool(single(driver));
+
+        pool.release(pool.acquire(WebDriverFactory.BrowserType.CHROME));
+        Assertions.assertEquals(1, pool.getIdleCount(), "Chromium session was not returned to the pool!");
+        Assertions.assertEquals(
+                List.of("https://app.com", "https://login.com", "https://example.com", "http://example.com"),
+                driver.clearedOrigins
+        );
+        Assertions.assertEquals("Network.clearBrowserCookies", driver.cdpCommands.get(driver.cdpCommands.size() - 1));
+        Assertions.assertFalse(browser.commands.contains(DriverCommand.DELETE_ALL_COOKIES));
+    }
+
+    /**
+     * Session factory that creates a given session once, later (warm up) sessions cannot be created
+     */
+    static Function<WebDriverFactory.BrowserType, RemoteWebDriver> single(RemoteWebDriver driver) {
+        AtomicInteger sessions = new AtomicInteger();
+        return type -> {
+            if (sessions.getAndIncrement() > 0) throw new WebDriverException("No more sessions");
+            return driver;
+        };
+    }
+
+    /**
+     * Fake remote end with a single window, scripts return the given origins
+     */
+    static class Browser implements CommandExecutor {
+        final List<String> origins;
+        final List<String> commands = new ArrayList<>();
+        boolean failing;
+
+        Browser(List<String> origins) {
+            this.origins = origins;
+        }
+
+        @Override
+        public Response execute(Command command) {
+            commands.add(command.getName());
+            Response response = new Response(new SessionId("pool"));
+            switch (command.getName()) {
+                case DriverCommand.NEW_SESSION -> response.setValue(Map.of("browserName", "fake"));
+                case DriverCommand.GET_CURRENT_WINDOW_HANDLE -> response.setValue("main");
+                case DriverCommand.GET_WINDOW_HANDLES -> response.setValue(List.of("main"));
+                case DriverCommand.EXECUTE_SCRIPT -> {
+                    if (failing) throw new WebDriverException("Script failed");
+                    response.setValue(origins);
+                }
+                default -> response.setValue(null);
+            }
+            return response;
+        }
+    }
+
+    static class PoolDriver extends RemoteWebDriver {
+        PoolDriver(Browser browser) {
+            super(browser, new MutableCapabilities());
+        }
+    }
+
+    static class CdpPoolDriver extends PoolDriver implements HasCdp {
+        final List<String> cdpCommands = new ArrayList<>();
+        final List<Object> clearedOrigins = new ArrayList<>();
+
+        CdpPoolDriver(Browser browser) {
+            super(browser);
+        }
+
+        @Override
+        public Map<String, Object> executeCdpCommand(String commandName, Map<String, Object> parameters) {
+            cdpCommands.add(commandName);
+            if (commandName.equals("Storage.clearDataForOrigin")) clearedOrigins.add(parameters.get("origin"));
+            if (commandName.equals("Network.getAllCookies")) return Map.of("cookies", List.of(Map.of("domain", ".example.com")));
+            return Map.of();
+        }
+    }
+}
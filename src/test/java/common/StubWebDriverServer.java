@@ -0,0 +1,85 @@
+package common;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Minimal W3C WebDriver endpoint serving a single session with a fixed list of elements.
+ * Every script execution returns the element values, and every request is counted by its path.
+ */
+public class StubWebDriverServer {
+
+    static final String ELEMENT_KEY = "element-6066-11e4-a52e-4f735466cecf";
+
+    final HttpServer server;
+    final List<String> values;
+    final AtomicInteger requestCount = new AtomicInteger();
+    final Map<String, AtomicInteger> pathCounts = new ConcurrentHashMap<>();
+
+    public StubWebDriverServer(List<String> values) throws IOException {
+        this.values = values;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    void handle(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        String path = exchange.getRequestURI().getPath();
+        requestCount.incrementAndGet();
+        pathCounts.computeIfAbsent(exchange.getRequestMethod() + " " + path, key -> new AtomicInteger()).incrementAndGet();
+
+        String value;
+        if (path.equals("/session"))
+            value = "{\"sessionId\":\"stub\",\"capabilities\":{\"browserName\":\"stub\"}}";
+        else if (path.endsWith("/elements"))
+            value = IntStream.range(0, values.size())
+                    .mapToObj(index -> "{\"" + ELEMENT_KEY + "\":\"e" + index + "\"}")
+                    .collect(Collectors.joining(",", "[", "]"));
+        else if (path.endsWith("/execute/sync"))
+            value = values.stream().map(text -> "\"" + text + "\"").collect(Collectors.joining(",", "[", "]"));
+        else if (path.matches(".*/element/e\\d+/text"))
+            value = "\"" + values.get(Integer.parseInt(path.replaceAll(".*/element/e(\\d+)/text", "$1"))) + "\"";
+        else value = "null";
+
+        byte[] body = ("{\"value\":" + value + "}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream stream = exchange.getResponseBody()) {stream.write(body);}
+    }
+
+    public URL getUrl() throws MalformedURLException {
+        return new URL("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    public int getRequestCount(String method, String path) {
+        AtomicInteger count = pathCounts.get(method + " " + path);
+        return count == null ? 0 : count.get();
+    }
+
+    public void resetCounts() {
+        requestCount.set(0);
+        pathCounts.clear();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+}